@@ -0,0 +1,97 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.benchmark;
+
+import com.dnastack.bob.persistence.enumerated.Chromosome;
+import com.dnastack.bob.persistence.enumerated.Reference;
+import com.dnastack.bob.service.converter.api.AlleleConverter;
+import com.dnastack.bob.service.converter.api.ChromosomeConverter;
+import com.dnastack.bob.service.converter.api.GenericConverter;
+import com.dnastack.bob.service.converter.api.PositionConverter;
+import com.dnastack.bob.service.converter.api.ReferenceConverter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Conversion of normalized query parameters to beacon specific values by each of the converters.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+    private static final String PACKAGE = "com.dnastack.bob.service.converter.impl.";
+    private static final int INPUTS = 4;
+
+    @Param({"BracketsAlleleConverter", "ChrPrefixChromosomeConverter", "EmptyAlleleConverter", "EmptyChromosomeConverter", "EmptyPositionConverter", "EmptyReferenceConverter", "GrChReferenceConverter", "IncrementPositionConverter", "LongNameAlleleConverter", "LowerCaseChromosomeConverter", "NumberChromosomeConverter"})
+    private String converter;
+
+    private GenericConverter<Object, ?> instance;
+    private Object[] inputs;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws ReflectiveOperationException {
+        Object o = Class.forName(PACKAGE + converter).newInstance();
+        instance = (GenericConverter<Object, ?>) o;
+
+        if (o instanceof AlleleConverter) {
+            inputs = new Object[]{"A", "ACGT", "D", "I"};
+        } else if (o instanceof ChromosomeConverter) {
+            inputs = new Object[]{Chromosome.CHR1, Chromosome.CHR13, Chromosome.CHRX, Chromosome.CHRMT};
+        } else if (o instanceof PositionConverter) {
+            inputs = new Object[]{1L, 13417L, 32888799L, 41244000L};
+        } else if (o instanceof ReferenceConverter) {
+            inputs = new Object[]{Reference.HG38, Reference.HG19, Reference.HG18, Reference.HG16};
+        } else {
+            throw new IllegalArgumentException("Unknown converter type " + converter);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void convert(Blackhole bh) {
+        for (Object o : inputs) {
+            bh.consume(instance.convert(o));
+        }
+    }
+}
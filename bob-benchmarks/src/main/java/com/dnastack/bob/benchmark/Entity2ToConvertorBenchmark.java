@@ -0,0 +1,108 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.benchmark;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.entity.Organization;
+import com.dnastack.bob.persistence.entity.Query;
+import com.dnastack.bob.persistence.enumerated.Chromosome;
+import com.dnastack.bob.persistence.enumerated.Reference;
+import com.dnastack.bob.service.dto.BeaconResponseTo;
+import com.dnastack.bob.service.dto.BeaconTo;
+import com.dnastack.bob.service.processor.api.BeaconResponse;
+import com.dnastack.bob.service.util.Entity2ToConvertor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Conversion of beacon responses to the TOs returned by the REST API, sized after a typical fan-out.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Entity2ToConvertorBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({"1", "20", "200"})
+    private int responses;
+
+    private List<Beacon> beacons;
+    private List<BeaconResponse> beaconResponses;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        Organization organization = new Organization("dnastack", "DNAstack", "Genomics in the cloud", "http://dnastack.com", "Toronto");
+        Query query = new Query(Chromosome.CHR13, 32888799L, "T", Reference.HG19);
+
+        beacons = new ArrayList<>();
+        beaconResponses = new ArrayList<>();
+        for (int i = 0; i < responses; i++) {
+            Beacon b = new Beacon();
+            b.setId("beacon-" + i);
+            b.setName("Beacon " + i);
+            b.setOrganization(organization);
+            beacons.add(b);
+
+            int r = random.nextInt(3);
+            beaconResponses.add(new BeaconResponse(b, query, (r == 2) ? null : (r == 1)));
+        }
+    }
+
+    @Benchmark
+    public BeaconResponseTo getBeaconResponseTo() {
+        return Entity2ToConvertor.getBeaconResponseTo(beaconResponses.get(0));
+    }
+
+    @Benchmark
+    public Collection<BeaconResponseTo> getBeaconResponseTos() {
+        return Entity2ToConvertor.getBeaconResponseTos(beaconResponses);
+    }
+
+    @Benchmark
+    public Collection<BeaconTo> getBeaconTos() {
+        return Entity2ToConvertor.getBeaconTos(beacons);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.benchmark;
+
+import com.dnastack.bob.benchmark.util.ReflectiveCdiBeanResolver;
+import com.dnastack.bob.benchmark.util.ReflectiveEjbResolver;
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.service.converter.impl.EmptyAlleleConverter;
+import com.dnastack.bob.service.converter.impl.EmptyChromosomeConverter;
+import com.dnastack.bob.service.converter.impl.EmptyPositionConverter;
+import com.dnastack.bob.service.converter.impl.GrChReferenceConverter;
+import com.dnastack.bob.service.fetcher.impl.GetResponseFetcher;
+import com.dnastack.bob.service.parser.impl.JsonExistsResponseParser;
+import com.dnastack.bob.service.processor.util.ExecutionPlan;
+import com.dnastack.bob.service.processor.util.ExecutionPlanner;
+import com.dnastack.bob.service.requester.impl.RefChromPosAlleleRequestConstructor;
+import com.dnastack.bob.service.util.CdiBeanResolver;
+import com.dnastack.bob.service.util.EjbResolver;
+import java.util.concurrent.TimeUnit;
+import javax.naming.NamingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of resolving the strategies of a beacon on every query compared to a cached execution plan.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutionPlanBenchmark {
+
+    private CdiBeanResolver cdiResolver;
+    private EjbResolver ejbResolver;
+    private ExecutionPlanner planner;
+    private Beacon beacon;
+
+    @Setup
+    public void setUp() throws ClassNotFoundException, NamingException {
+        cdiResolver = new ReflectiveCdiBeanResolver();
+        ejbResolver = new ReflectiveEjbResolver();
+        planner = new ExecutionPlanner(cdiResolver, ejbResolver);
+
+        beacon = new Beacon();
+        beacon.setId("benchmark");
+        beacon.setParser(ejbResolver.getClassId(JsonExistsResponseParser.class));
+        beacon.setFetcher(ejbResolver.getClassId(GetResponseFetcher.class));
+        beacon.setRequester(cdiResolver.getClassId(RefChromPosAlleleRequestConstructor.class));
+        beacon.setReferenceConverter(cdiResolver.getClassId(GrChReferenceConverter.class));
+        beacon.setChromosomeConverter(cdiResolver.getClassId(EmptyChromosomeConverter.class));
+        beacon.setPositionConverter(cdiResolver.getClassId(EmptyPositionConverter.class));
+        beacon.setAlleleConverter(null);
+        planner.getPlan(beacon);
+    }
+
+    private Object resolve(String id, Class<?> fallback) throws ClassNotFoundException {
+        Object o = cdiResolver.resolve(id);
+
+        return (o == null) ? cdiResolver.resolve(cdiResolver.getClassId(fallback)) : o;
+    }
+
+    @Benchmark
+    public void resolvePerQuery(Blackhole bh) throws ClassNotFoundException, NamingException {
+        // what the processor used to do for every query
+        bh.consume(ejbResolver.resolve(beacon.getFetcher()));
+        bh.consume(cdiResolver.resolve(beacon.getRequester()));
+        bh.consume(resolve(beacon.getChromosomeConverter(), EmptyChromosomeConverter.class));
+        bh.consume(resolve(beacon.getReferenceConverter(), GrChReferenceConverter.class));
+        bh.consume(resolve(beacon.getPositionConverter(), EmptyPositionConverter.class));
+        bh.consume(resolve(beacon.getAlleleConverter(), EmptyAlleleConverter.class));
+        bh.consume(ejbResolver.resolve(beacon.getParser()));
+    }
+
+    @Benchmark
+    public ExecutionPlan cachedPlan() throws ClassNotFoundException, NamingException {
+        return planner.getPlan(beacon);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.benchmark;
+
+import com.dnastack.bob.persistence.api.BeaconDao;
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.impl.BeaconDaoImpl;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Traversal of the beacon hierarchy from the root of a synthetic tree. The tree is generated from a fixed seed, so
+ * the shape is the same across runs.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindDescendantsBenchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({"100", "1000", "10000"})
+    private int beacons;
+
+    private BeaconDao dao;
+    private Beacon root;
+
+    private static Beacon createBeacon(int i, boolean aggregator, boolean visible, boolean enabled) {
+        Beacon b = new Beacon();
+        b.setId("beacon-" + i);
+        b.setName("Beacon " + i);
+        b.setAggregator(aggregator);
+        b.setVisible(visible);
+        b.setEnabled(enabled);
+        b.setParents(new HashSet<Beacon>());
+        b.setChildren(new HashSet<Beacon>());
+
+        return b;
+    }
+
+    @Setup
+    public void setUp() {
+        dao = new BeaconDaoImpl();
+
+        // every fifth beacon aggregates others, a few are hidden or switched off
+        Random random = new Random(SEED);
+        root = createBeacon(0, true, true, true);
+        List<Beacon> aggregators = new ArrayList<>();
+        aggregators.add(root);
+        for (int i = 1; i < beacons; i++) {
+            Beacon b = createBeacon(i, random.nextInt(5) == 0, random.nextInt(10) != 0, random.nextInt(20) != 0);
+            Beacon parent = aggregators.get(random.nextInt(aggregators.size()));
+            b.getParents().add(parent);
+            parent.getChildren().add(b);
+            if (b.getAggregator()) {
+                aggregators.add(b);
+            }
+        }
+    }
+
+    @Benchmark
+    public Set<Beacon> leaves() {
+        return dao.findDescendants(root, false, false, false, false);
+    }
+
+    @Benchmark
+    public Set<Beacon> all() {
+        return dao.findDescendants(root, true, true, true, true);
+    }
+}
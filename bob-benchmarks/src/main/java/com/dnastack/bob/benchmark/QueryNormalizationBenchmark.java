@@ -0,0 +1,146 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.benchmark;
+
+import com.dnastack.bob.benchmark.util.RegexQueryNormalizer;
+import com.dnastack.bob.service.parser.util.ParseUtils;
+import com.dnastack.bob.service.util.QueryNormalizer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Normalization of the query parameters as received from users, including unrecognized values, by the lookup tables of
+ * the normalizer and by the regular expressions they replaced (baseline).
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryNormalizationBenchmark {
+
+    private static final int INPUTS = 8;
+    private static final String[] CHROMOSOMES = {"1", "chr1", "13", "chr17", "X", "chrY", "MT", "foo"};
+    private static final String[] ALLELES = {"A", "t", "ACGT", "del", "INS", "D", "gattaca", "N"};
+    private static final String[] REFERENCES = {"hg19", "HG38", "GRCh37", "grch38", "NCBI36", "hg16", "ncbi34", "foo"};
+    private static final String[] BEACON_IDS = {"amplab", "[amplab,bob]", "[1000genomes,clinvar,ebi,ncbi,uniprot,wtsi]", "[a-b,c_d]", "[amplab", "bob", "[]", "[foo bar]"};
+
+    private QueryNormalizer normalizer;
+    private RegexQueryNormalizer baseline;
+    private ParseUtils parseUtils;
+
+    @Setup
+    public void setUp() {
+        normalizer = new QueryNormalizer();
+        baseline = new RegexQueryNormalizer();
+        parseUtils = new ParseUtils();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void normalizeChromosome(Blackhole bh) {
+        for (String s : CHROMOSOMES) {
+            bh.consume(normalizer.normalizeChromosome(s));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void normalizeAllele(Blackhole bh) {
+        for (String s : ALLELES) {
+            bh.consume(normalizer.normalizeAllele(s));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void normalizeReference(Blackhole bh) {
+        for (String s : REFERENCES) {
+            bh.consume(normalizer.normalizeReference(s));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void normalize(Blackhole bh) {
+        for (int i = 0; i < INPUTS; i++) {
+            bh.consume(normalizer.normalize(CHROMOSOMES[i], 100000L, ALLELES[i], REFERENCES[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void parseBeaconIds(Blackhole bh) {
+        for (String s : BEACON_IDS) {
+            bh.consume(parseUtils.parameterHasSingleValidValue(s) || parseUtils.parameterHasMultipleValidValue(s));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void baselineNormalizeChromosome(Blackhole bh) {
+        for (String s : CHROMOSOMES) {
+            bh.consume(baseline.normalizeChromosome(s));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void baselineNormalizeAllele(Blackhole bh) {
+        for (String s : ALLELES) {
+            bh.consume(baseline.normalizeAllele(s));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void baselineNormalizeReference(Blackhole bh) {
+        for (String s : REFERENCES) {
+            bh.consume(baseline.normalizeReference(s));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void baselineParseBeaconIds(Blackhole bh) {
+        for (String s : BEACON_IDS) {
+            bh.consume(baseline.parameterHasSingleValidValue(s) || baseline.parameterHasMultipleValidValue(s));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.benchmark;
+
+import com.dnastack.bob.benchmark.util.ReflectiveCdiBeanResolver;
+import com.dnastack.bob.benchmark.util.ReflectiveEjbResolver;
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.entity.Query;
+import com.dnastack.bob.persistence.enumerated.Chromosome;
+import com.dnastack.bob.persistence.enumerated.Reference;
+import com.dnastack.bob.service.converter.impl.BracketsAlleleConverter;
+import com.dnastack.bob.service.converter.impl.ChrPrefixChromosomeConverter;
+import com.dnastack.bob.service.converter.impl.GrChReferenceConverter;
+import com.dnastack.bob.service.converter.impl.IncrementPositionConverter;
+import com.dnastack.bob.service.converter.impl.LongNameAlleleConverter;
+import com.dnastack.bob.service.converter.impl.LowerCaseChromosomeConverter;
+import com.dnastack.bob.service.converter.impl.NumberChromosomeConverter;
+import com.dnastack.bob.service.fetcher.impl.GetResponseFetcher;
+import com.dnastack.bob.service.parser.impl.JsonExistsResponseParser;
+import com.dnastack.bob.service.processor.util.ExecutionPlan;
+import com.dnastack.bob.service.processor.util.ExecutionPlanner;
+import com.dnastack.bob.service.processor.util.QueryTranslator;
+import com.dnastack.bob.service.processor.util.TranslatedQuery;
+import com.dnastack.bob.service.requester.impl.RefChromPosAlleleRequestConstructor;
+import com.dnastack.bob.service.util.CdiBeanResolver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.naming.NamingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Conversion of a query for a fan-out to 20 beacons with mixed converters, calling each converter of the beacons
+ * compared to the composed translators of their execution plans.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryTranslatorBenchmark {
+
+    private static final int BEACONS = 20;
+
+    private static final Class<?>[] CHROMOSOME_CONVERTERS = {null, ChrPrefixChromosomeConverter.class, LowerCaseChromosomeConverter.class, NumberChromosomeConverter.class};
+    private static final Class<?>[] REFERENCE_CONVERTERS = {null, GrChReferenceConverter.class};
+    private static final Class<?>[] POSITION_CONVERTERS = {null, null, IncrementPositionConverter.class};
+    private static final Class<?>[] ALLELE_CONVERTERS = {null, BracketsAlleleConverter.class, null, LongNameAlleleConverter.class, null};
+
+    private List<ExecutionPlan> plans;
+    private Query query;
+    private List<Reference> refs;
+
+    private static String getClassId(CdiBeanResolver resolver, Class<?>[] cs, int i) {
+        return resolver.getClassId(cs[i % cs.length]);
+    }
+
+    @Setup
+    public void setUp() throws ClassNotFoundException, NamingException {
+        CdiBeanResolver cdiResolver = new ReflectiveCdiBeanResolver();
+        ReflectiveEjbResolver ejbResolver = new ReflectiveEjbResolver();
+        ExecutionPlanner planner = new ExecutionPlanner(cdiResolver, ejbResolver);
+
+        plans = new ArrayList<>();
+        for (int i = 0; i < BEACONS; i++) {
+            Beacon b = new Beacon();
+            b.setId("beacon" + i);
+            b.setParser(ejbResolver.getClassId(JsonExistsResponseParser.class));
+            b.setFetcher(ejbResolver.getClassId(GetResponseFetcher.class));
+            b.setRequester(cdiResolver.getClassId(RefChromPosAlleleRequestConstructor.class));
+            b.setChromosomeConverter(getClassId(cdiResolver, CHROMOSOME_CONVERTERS, i));
+            b.setReferenceConverter(getClassId(cdiResolver, REFERENCE_CONVERTERS, i));
+            b.setPositionConverter(getClassId(cdiResolver, POSITION_CONVERTERS, i));
+            b.setAlleleConverter(getClassId(cdiResolver, ALLELE_CONVERTERS, i));
+            plans.add(planner.getPlan(b));
+        }
+
+        query = new Query(Chromosome.CHR13, 32888799L, "D", null);
+        refs = Arrays.asList(Reference.HG19, Reference.HG38);
+    }
+
+    @Benchmark
+    public void convertPerBeacon(Blackhole bh) {
+        // what the processors used to do for every beacon
+        for (ExecutionPlan plan : plans) {
+            bh.consume(plan.getChromosomeConverter().convert(query.getChromosome()));
+            bh.consume(plan.getPositionConverter().convert(query.getPosition()));
+            bh.consume(plan.getAlleleConverter().convert(query.getAllele()));
+            for (Reference ref : refs) {
+                bh.consume(plan.getReferenceConverter().convert(ref));
+            }
+        }
+    }
+
+    @Benchmark
+    public void translatePerBeacon(Blackhole bh) {
+        for (ExecutionPlan plan : plans) {
+            QueryTranslator translator = plan.getTranslator();
+            TranslatedQuery q = translator.translate(query);
+            bh.consume(q);
+            for (Reference ref : refs) {
+                bh.consume(translator.translateReference(ref));
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.benchmark;
+
+import com.dnastack.bob.benchmark.util.Injector;
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.service.requester.api.RequestConstructor;
+import com.dnastack.bob.service.requester.util.UrlTemplates;
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Construction of requests by each of the request constructors, using the URLs of the beacons they serve.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestConstructorBenchmark {
+
+    private static final String PACKAGE = "com.dnastack.bob.service.requester.impl.";
+    private static final Map<String, String> URLS = ImmutableMap.of(
+            "BeaconChromPosAlleleRequestConstructor", "http://genome.ucsc.edu/cgi-bin/hgBeacon/query?dataset=%s&chromosome=%s&position=%d&alternateBases=%s",
+            "ChromPosAlleleRequestConstructor", "http://www.sanger.ac.uk/sanger/GA4GH_Beacon?src=all&chr=%s&pos=%d&all=%s",
+            "NoParamCustomPayloadRequestConstructor", "http://beacon.eecs.berkeley.edu/beacon.php",
+            "RefChromPosAlleleRequestConstructor", "http://www.ncbi.nlm.nih.gov/projects/genome/beacon/beacon.cgi?ref=%s&chrom=%s&pos=%d&allele=%s"
+    );
+
+    @Param({"BeaconChromPosAlleleRequestConstructor", "ChromPosAlleleRequestConstructor", "NoParamCustomPayloadRequestConstructor", "RefChromPosAlleleRequestConstructor"})
+    private String requester;
+
+    private RequestConstructor constructor;
+    private Beacon beacon;
+    private String ref;
+    private String chrom;
+    private Long pos;
+    private String allele;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        constructor = Injector.inject((RequestConstructor) Class.forName(PACKAGE + requester).newInstance(), new UrlTemplates());
+
+        beacon = new Beacon();
+        beacon.setId("lovd");
+        beacon.setUrl(URLS.get(requester));
+
+        ref = "GRCh37";
+        chrom = "13";
+        pos = 32888799L;
+        allele = "T";
+    }
+
+    @Benchmark
+    public String getUrl() {
+        return constructor.getUrl(beacon, ref, chrom, pos, allele, null);
+    }
+
+    @Benchmark
+    public Map<String, String> getPayload() {
+        return constructor.getPayload(beacon, ref, chrom, pos, allele, null);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.benchmark;
+
+import com.dnastack.bob.benchmark.util.Injector;
+import com.dnastack.bob.benchmark.util.Payloads;
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.parser.api.InlineResponseParser;
+import com.dnastack.bob.service.parser.api.ResponseBody;
+import com.dnastack.bob.service.parser.api.ResponseParser;
+import com.dnastack.bob.service.parser.util.JsonPathExtractor;
+import com.dnastack.bob.service.parser.util.ParseUtils;
+import com.google.common.util.concurrent.Futures;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of recorded responses of the beacons by each of the response parsers.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParserBenchmark {
+
+    private static final String PACKAGE = "com.dnastack.bob.service.parser.impl.";
+
+    @Param({"JsonCafeResponseParser", "JsonExistsGtResponseParser", "JsonExistsResponseParser", "JsonResponseExistsNullAsFalseResponseParser", "JsonResponseExistsResponseParser", "StringFoundResponseParser", "StringYesNoRefResponseParser", "StringYesNoResponseParser"})
+    private String parser;
+
+    private ResponseParser instance;
+    private Beacon beacon;
+    private Future<String> response;
+    private ResponseBody body;
+    private Deadline deadline;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException, IOException, InterruptedException, ExecutionException {
+        JsonPathExtractor extractor = new JsonPathExtractor();
+        instance = (ResponseParser) Class.forName(PACKAGE + parser).newInstance();
+        Injector.inject(instance, extractor);
+        Injector.inject(instance, Injector.inject(new ParseUtils(), extractor));
+
+        beacon = new Beacon();
+        beacon.setId("cafe-central");
+        response = Futures.immediateFuture(Payloads.load(parser + (parser.startsWith("Json") ? ".json" : ".txt")));
+        body = new ResponseBody(response.get());
+        deadline = Deadline.after(1, TimeUnit.DAYS);
+
+        // every recorded payload holds a valid answer
+        if (parse() == null) {
+            throw new IllegalStateException("Parser " + parser + " does not understand its payload");
+        }
+    }
+
+    @Benchmark
+    public Boolean parse() throws InterruptedException, ExecutionException {
+        return instance.parseQueryResponse(beacon, response, deadline).get();
+    }
+
+    @Benchmark
+    public Boolean parseInline() {
+        return ((InlineResponseParser) instance).parse(beacon, body);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.benchmark.util;
+
+import java.lang.reflect.Field;
+import javax.inject.Inject;
+
+/**
+ * Poor man's dependency injection for wiring beans outside of the container.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class Injector {
+
+    /**
+     * Sets all the fields of the target annotated with @Inject that can hold the given dependency.
+     *
+     * @param target     bean to inject into
+     * @param dependency injected bean
+     *
+     * @return target
+     */
+    public static <T> T inject(T target, Object dependency) {
+        for (Class<?> c = target.getClass(); c != null; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (f.isAnnotationPresent(Inject.class) && f.getType().isInstance(dependency)) {
+                    f.setAccessible(true);
+                    try {
+                        f.set(target, dependency);
+                    } catch (IllegalAccessException ex) {
+                        throw new IllegalStateException("Could not inject " + f, ex);
+                    }
+                }
+            }
+        }
+
+        return target;
+    }
+}
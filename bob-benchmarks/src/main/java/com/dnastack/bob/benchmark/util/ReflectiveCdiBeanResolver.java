@@ -0,0 +1,51 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.benchmark.util;
+
+import com.dnastack.bob.service.util.CdiBeanResolver;
+
+/**
+ * Resolver instantiating CDI strategies reflectively, for use outside of the container. It is cheaper than the
+ * BeanManager lookup it replaces, so benchmarks using it underestimate the cost of resolution.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class ReflectiveCdiBeanResolver extends CdiBeanResolver {
+
+    private static final long serialVersionUID = 70L;
+
+    @Override
+    public Object resolve(String id) throws ClassNotFoundException {
+        if (id == null) {
+            return null;
+        }
+
+        try {
+            return Class.forName(id).newInstance();
+        } catch (InstantiationException | IllegalAccessException ex) {
+            throw new ClassNotFoundException("Could not resolve class", ex);
+        }
+    }
+}
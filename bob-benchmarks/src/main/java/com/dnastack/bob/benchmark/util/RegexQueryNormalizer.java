@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.benchmark.util;
+
+import com.dnastack.bob.persistence.enumerated.Chromosome;
+import com.dnastack.bob.persistence.enumerated.Reference;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
+
+import static com.dnastack.bob.service.util.Constants.REFERENCE_MAPPING;
+
+/**
+ * Normalization of query parameters by scanning the enums and matching regular expressions, as it was done before the
+ * lookup tables of {@link com.dnastack.bob.service.util.QueryNormalizer}. Kept as the baseline of the benchmarks.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class RegexQueryNormalizer {
+
+    public Chromosome normalizeChromosome(String chrom) {
+        // parse chrom value
+        if (chrom != null) {
+            String orig = chrom.toUpperCase();
+            for (Chromosome c : Chromosome.values()) {
+                if (orig.endsWith(c.toString())) {
+                    return c;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    public String normalizeAllele(String allele) {
+        if (allele == null || allele.isEmpty()) {
+            return null;
+        }
+
+        String res = allele.toUpperCase();
+        if (res.equals("DEL") || res.equals("INS")) {
+            return res.substring(0, 1);
+        }
+        if (Pattern.matches("([D,I])|([A,C,T,G]+)", res)) {
+            return res;
+        }
+
+        return null;
+    }
+
+    public Reference normalizeReference(String ref) {
+        if (ref == null || ref.isEmpty()) {
+            return null;
+        }
+
+        for (Reference s : REFERENCE_MAPPING.keySet()) {
+            if (s.toString().equalsIgnoreCase(ref)) {
+                return s;
+            }
+        }
+        for (Entry<Reference, String> e : REFERENCE_MAPPING.entrySet()) {
+            if (e.getValue().equalsIgnoreCase(ref)) {
+                return e.getKey();
+            }
+        }
+
+        return null;
+    }
+
+    public boolean parameterHasMultipleValidValue(String param) {
+        return param.matches("\\[(((\\w)*-(\\w)*)*(\\w)*,)*((\\w)*-(\\w)*)*(\\w)*\\]");
+    }
+
+    public boolean parameterHasSingleValidValue(String param) {
+        return param.matches("[-a-zA-Z0-9]*");
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.benchmark.util;
+
+import com.dnastack.bob.persistence.enumerated.Chromosome;
+import com.dnastack.bob.persistence.enumerated.Reference;
+import com.dnastack.bob.service.util.QueryNormalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import org.junit.Test;
+
+import static com.dnastack.bob.service.util.Constants.REFERENCE_MAPPING;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the lookup tables of {@link QueryNormalizer} normalize the same way as the regular expressions of
+ * {@link RegexQueryNormalizer} they replaced.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class QueryNormalizerTest {
+
+    private static final String SYMBOLS = "0123456789ACDGHIMNRTXYacdghimnrtxy,-";
+
+    private final QueryNormalizer normalizer = new QueryNormalizer();
+    private final RegexQueryNormalizer baseline = new RegexQueryNormalizer();
+
+    private static List<String> randomStrings(long seed, int count, int maxLength) {
+        Random r = new Random(seed);
+        List<String> res = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            char[] s = new char[r.nextInt(maxLength + 1)];
+            for (int j = 0; j < s.length; j++) {
+                s[j] = SYMBOLS.charAt(r.nextInt(SYMBOLS.length()));
+            }
+            res.add(new String(s));
+        }
+
+        return res;
+    }
+
+    @Test
+    public void testChromosome() {
+        List<String> cs = new ArrayList<>(Arrays.asList(null, "", "chr", "T", "chrT", "M", "chrM", "XT", "1MT", "Mt", "mT", "chrUn", "23", "chr23", "112", "0", "é", "chré"));
+        for (Chromosome c : Chromosome.values()) {
+            cs.add(c.toString());
+            cs.add(c.toString().toLowerCase());
+            cs.add("chr" + c);
+            cs.add("CHR" + c);
+            cs.add("1" + c);
+        }
+        cs.addAll(randomStrings(1, 10000, 4));
+
+        for (String c : cs) {
+            assertThat(normalizer.normalizeChromosome(c)).as(String.valueOf(c)).isEqualTo(baseline.normalizeChromosome(c));
+        }
+    }
+
+    @Test
+    public void testChromosomeLongestMatch() {
+        assertThat(normalizer.normalizeChromosome("chr12")).isEqualTo(Chromosome.CHR12);
+        assertThat(normalizer.normalizeChromosome("chr32")).isEqualTo(Chromosome.CHR2);
+        assertThat(normalizer.normalizeChromosome("chrMT")).isEqualTo(Chromosome.CHRMT);
+        assertThat(normalizer.normalizeChromosome("chrT")).isNull();
+    }
+
+    @Test
+    public void testAllele() {
+        List<String> as = new ArrayList<>(Arrays.asList(null, "", ",", ",,", "A,C", "a,c", "D", "d", "I", "i", "DEL", "del", "Ins", "DD", "DI", "D,", "I,", "ACGT", "acgt", "AcGt", "ACGN", "N", "X", "DELETE"));
+        as.addAll(randomStrings(2, 10000, 5));
+
+        for (String a : as) {
+            assertThat(normalizer.normalizeAllele(a)).as(String.valueOf(a)).isEqualTo(baseline.normalizeAllele(a));
+        }
+    }
+
+    @Test
+    public void testAlleleComma() {
+        // the character class of the pattern of Query.allele lets commas through
+        assertThat(normalizer.normalizeAllele(",")).isEqualTo(",");
+        assertThat(normalizer.normalizeAllele("a,t")).isEqualTo("A,T");
+    }
+
+    @Test
+    public void testReference() {
+        List<String> rs = new ArrayList<>(Arrays.asList(null, "", "hg", "hg20", "GRCh", "GRCh3", "GRCh39", "NCBI3"));
+        for (Entry<Reference, String> e : REFERENCE_MAPPING.entrySet()) {
+            rs.add(e.getKey().toString());
+            rs.add(e.getKey().toString().toUpperCase());
+            rs.add(e.getValue());
+            rs.add(e.getValue().toLowerCase());
+            rs.add(e.getValue() + "x");
+        }
+        // names sharing a slot with the known ones
+        rs.addAll(randomStrings(3, 20000, 6));
+
+        for (String r : rs) {
+            assertThat(normalizer.normalizeReference(r)).as(String.valueOf(r)).isEqualTo(baseline.normalizeReference(r));
+        }
+    }
+
+    @Test
+    public void testReferenceNames() {
+        for (Entry<Reference, String> e : REFERENCE_MAPPING.entrySet()) {
+            assertThat(normalizer.normalizeReference(e.getKey().toString())).isEqualTo(e.getKey());
+            assertThat(normalizer.normalizeReference(e.getValue())).isEqualTo(e.getKey());
+        }
+    }
+
+}
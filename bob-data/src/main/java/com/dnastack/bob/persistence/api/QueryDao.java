@@ -24,6 +24,7 @@
 package com.dnastack.bob.persistence.api;
 
 import com.dnastack.bob.persistence.entity.Query;
+import java.util.Collection;
 
 /**
  * Query DAO.
@@ -32,5 +33,12 @@ import com.dnastack.bob.persistence.entity.Query;
  * @version 1.0
  */
 public interface QueryDao extends EntityWithLongIdDao<Query> {
-    
+
+    /**
+     * Saves the given queries, writing them to the DB in JDBC batches.
+     *
+     * @param queries queries
+     */
+    void saveAll(Collection<Query> queries);
+
 }
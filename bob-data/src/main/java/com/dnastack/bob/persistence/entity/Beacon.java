@@ -35,6 +35,9 @@ import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Size;
 
@@ -82,6 +85,18 @@ public class Beacon implements BasicEntity {
     @ElementCollection(fetch = FetchType.EAGER)
     // TODO: query from datasets or cache properly
     private Set<Reference> supportedReferences;
+    // whether this beacon answers for all the supported references in a single request (needs a multi-reference requester)
+    private Boolean multiReference;
+    // how long (in seconds) responses of this beacon can be cached, default used if null
+    @Min(0L)
+    private Long cacheTtl;
+    // percentile of the observed latency after which a duplicate request is sent to this beacon, no hedging if null
+    @DecimalMin("0")
+    @DecimalMax("100")
+    private Double hedgePercentile;
+    // max extra requests sent to this beacon by hedging (in % of its requests), default used if null
+    @DecimalMin("0")
+    private Double hedgeBudget;
 
     @NotNull
     @Column(nullable = false)
@@ -239,6 +254,38 @@ public class Beacon implements BasicEntity {
         this.supportedReferences = supportedReferences;
     }
 
+    public Boolean getMultiReference() {
+        return multiReference;
+    }
+
+    public void setMultiReference(Boolean multiReference) {
+        this.multiReference = multiReference;
+    }
+
+    public Long getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public void setCacheTtl(Long cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    public Double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    public void setHedgePercentile(Double hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    public Double getHedgeBudget() {
+        return hedgeBudget;
+    }
+
+    public void setHedgeBudget(Double hedgeBudget) {
+        this.hedgeBudget = hedgeBudget;
+    }
+
     public Boolean getVisible() {
         return visible;
     }
@@ -303,7 +350,7 @@ public class Beacon implements BasicEntity {
 
     @Override
     public String toString() {
-        return "Beacon{" + "id=" + id + ", name=" + name + ", url=" + url + ", organization=" + organization + ", description=" + description + ", api=" + api + ", homePage=" + homePage + ", email=" + email + ", auth=" + auth + ", parser=" + parser + ", fetcher=" + fetcher + ", requester=" + requester + ", chromosomeConverter=" + chromosomeConverter + ", positionConverter=" + positionConverter + ", alleleConverter=" + alleleConverter + ", referenceConverter=" + referenceConverter + ", supportedReferences=" + supportedReferences + ", visible=" + visible + ", enabled=" + enabled + ", aggregator=" + aggregator + '}';
+        return "Beacon{" + "id=" + id + ", name=" + name + ", url=" + url + ", organization=" + organization + ", description=" + description + ", api=" + api + ", homePage=" + homePage + ", email=" + email + ", auth=" + auth + ", parser=" + parser + ", fetcher=" + fetcher + ", requester=" + requester + ", chromosomeConverter=" + chromosomeConverter + ", positionConverter=" + positionConverter + ", alleleConverter=" + alleleConverter + ", referenceConverter=" + referenceConverter + ", supportedReferences=" + supportedReferences + ", multiReference=" + multiReference + ", cacheTtl=" + cacheTtl + ", hedgePercentile=" + hedgePercentile + ", hedgeBudget=" + hedgeBudget + ", visible=" + visible + ", enabled=" + enabled + ", aggregator=" + aggregator + '}';
     }
 
 }
@@ -25,7 +25,11 @@ package com.dnastack.bob.persistence.entity;
 
 import com.dnastack.bob.persistence.enumerated.Chromosome;
 import com.dnastack.bob.persistence.enumerated.Reference;
+import java.util.Date;
+import java.util.Map;
 import java.util.Objects;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
@@ -33,6 +37,9 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
+import javax.persistence.MapKeyColumn;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
@@ -66,6 +73,14 @@ public class Query implements BasicEntity {
     private Reference reference;
     @ManyToOne
     private Dataset dataSet;
+    // when the query was submitted, set for logged queries only
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date submitted;
+    // responses of the beacons to the logged query by beacon ID, beacons without a valid response are left out
+    @ElementCollection
+    @MapKeyColumn(name = "beacon")
+    @Column(name = "response")
+    private Map<String, Boolean> responses;
 
     public Query() {
     }
@@ -117,6 +132,22 @@ public class Query implements BasicEntity {
         this.reference = reference;
     }
 
+    public Date getSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(Date submitted) {
+        this.submitted = submitted;
+    }
+
+    public Map<String, Boolean> getResponses() {
+        return responses;
+    }
+
+    public void setResponses(Map<String, Boolean> responses) {
+        this.responses = responses;
+    }
+
     @Override
     public int hashCode() {
         int hash = 3;
@@ -25,12 +25,15 @@ package com.dnastack.bob.persistence.impl;
 
 import com.dnastack.bob.persistence.api.BeaconDao;
 import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.event.BeaconChangeEvent;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.LinkedBlockingQueue;
 import javax.enterprise.context.Dependent;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
 import javax.inject.Named;
 
 /**
@@ -45,6 +48,35 @@ public class BeaconDaoImpl extends AbstractEntityWithStringIdDaoImpl<Beacon> imp
 
     private static final long serialVersionUID = 7394221412609376503L;
 
+    @Inject
+    private Event<BeaconChangeEvent> changes;
+
+    private void fireChange(String id) {
+        changes.fire(new BeaconChangeEvent(id));
+    }
+
+    @Override
+    public Beacon save(Beacon t) {
+        Beacon res = super.save(t);
+        fireChange(t.getId());
+
+        return res;
+    }
+
+    @Override
+    public Beacon update(Beacon t) {
+        Beacon res = super.update(t);
+        fireChange(t.getId());
+
+        return res;
+    }
+
+    @Override
+    public void delete(String id) {
+        super.delete(id);
+        fireChange(id);
+    }
+
     @Override
     public List<Beacon> findByAggregation(boolean aggregator) {
         return em.createNamedQuery("findBeaconsByAggregation", Beacon.class).setParameter("aggregator", aggregator).getResultList();
@@ -64,6 +96,7 @@ public class BeaconDaoImpl extends AbstractEntityWithStringIdDaoImpl<Beacon> imp
         boolean res = child.getParents().add(parent);
 
         em.merge(child);
+        fireChange(child.getId());
         return res;
     }
 
@@ -76,6 +109,7 @@ public class BeaconDaoImpl extends AbstractEntityWithStringIdDaoImpl<Beacon> imp
         boolean res = child.getParents().remove(parent);
 
         em.merge(child);
+        fireChange(child.getId());
         return res;
     }
 
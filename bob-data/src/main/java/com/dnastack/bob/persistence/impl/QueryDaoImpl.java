@@ -25,6 +25,7 @@ package com.dnastack.bob.persistence.impl;
 
 import com.dnastack.bob.persistence.api.QueryDao;
 import com.dnastack.bob.persistence.entity.Query;
+import java.util.Collection;
 import javax.enterprise.context.Dependent;
 import javax.inject.Named;
 
@@ -40,4 +41,14 @@ public class QueryDaoImpl extends AbstractEntityWithLongIdDaoImpl<Query> impleme
 
     private static final long serialVersionUID = 35L;
 
+    @Override
+    public void saveAll(Collection<Query> queries) {
+        for (Query q : queries) {
+            em.persist(q);
+        }
+        // inserts are batched by the provider (hibernate.jdbc.batch_size), saved queries are not needed any more
+        em.flush();
+        em.clear();
+    }
+
 }
@@ -30,7 +30,11 @@ import com.dnastack.bob.persistence.entity.Query;
 import com.dnastack.bob.persistence.enumerated.Chromosome;
 import com.dnastack.bob.persistence.enumerated.Reference;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.inject.Inject;
 import org.jboss.arquillian.junit.Arquillian;
 import org.jboss.arquillian.persistence.Cleanup;
@@ -109,4 +113,44 @@ public class QueryDaoTest extends EntityWithLongIdDaoTest {
         assertThat(e).isEqualTo(e2);
     }
 
+    @Test
+    public void testSaveAll() {
+        Long orig = countAll(getEntityClass());
+        // whole seconds, so the timestamp reads back the same in any database
+        Date submitted = new Date(System.currentTimeMillis() / 1000L * 1000L);
+
+        Map<String, Boolean> responses = new HashMap<>();
+        responses.put("amplab", true);
+        responses.put("clinvar", false);
+        Query q1 = new Query(Chromosome.CHR1, 100L, "A", Reference.HG19);
+        q1.setSubmitted(submitted);
+        q1.setResponses(responses);
+        Query q2 = new Query(Chromosome.CHRX, 200L, "D", Reference.HG38);
+        q2.setSubmitted(submitted);
+        q2.setResponses(new HashMap<String, Boolean>());
+
+        dao.saveAll(Arrays.asList(q1, q2));
+
+        assertThat(countAll(getEntityClass())).isEqualTo(orig + 2);
+
+        Query e1 = (Query) findById(getEntityClass(), q1.getId());
+        assertThat(e1).isEqualTo(q1);
+        assertThat(e1.getSubmitted().getTime()).isEqualTo(submitted.getTime());
+        assertThat(e1.getResponses()).isEqualTo(responses);
+
+        Query e2 = (Query) findById(getEntityClass(), q2.getId());
+        assertThat(e2).isEqualTo(q2);
+        assertThat(e2.getSubmitted().getTime()).isEqualTo(submitted.getTime());
+        assertThat(e2.getResponses()).isEmpty();
+    }
+
+    @Test
+    public void testSaveAllEmpty() {
+        Long orig = countAll(getEntityClass());
+
+        dao.saveAll(new ArrayList<Query>());
+
+        assertThat(countAll(getEntityClass())).isEqualTo(orig);
+    }
+
 }
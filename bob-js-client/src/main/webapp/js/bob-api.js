@@ -4,6 +4,7 @@ var restUrl = "http://dnastack.com/bob-api/rest/";
 //var restUrl = "http://localhost:8080/rest/";
 var beaconsUrl = restUrl + "beacons";
 var responsesUrl = restUrl + "responses?";
+var responsesStreamUrl = restUrl + "responses/stream?";
 
 function createRequest() {
     var xhr = new XMLHttpRequest();
@@ -119,6 +120,50 @@ function writeInvalid(name) {
     div.innerHTML = newHTML;
 }
 
+function renderResponseRow(obj) {
+    var response = obj.response;
+    var responseIndicator = "";
+
+    if (response === null || response === undefined) {
+        responseIndicator = "<span title='There was a problem obtaining the response for this beacon.' class='label label-warning'>ERROR</span>";
+    } else if (response === true) {
+        responseIndicator = "<span class='label label-success'>YES</span>";
+    } else {
+        responseIndicator = "<span class='label label-danger'>NO</span>";
+    }
+
+    var aggField = obj.beacon.aggregator;
+    var aggString = "";
+
+    if (aggField !== null && aggField === true) {
+        aggString = " [aggregator]";
+    }
+
+    if (obj.beacon.name === "Beacon of Beacons") {
+        return "<tr style=\"padding-bottom: 10em;\"><td>" + responseIndicator + "</td><td><b>" + obj.beacon.name + " (" + obj.beacon.organization + ")</b></td></tr>";
+    }
+
+    return "<tr><td>" + responseIndicator + "</td><td>" + obj.beacon.name + " (" + obj.beacon.organization + ")" + aggString + "</td></tr>";
+}
+
+function isMainBeacon(obj) {
+    return obj.beacon.name === "Beacon of Beacons";
+}
+
+function createQueryUrl(baseUrl, beacon, chrom, pos, alt, ref) {
+    var urlArr = [];
+    urlArr.push(baseUrl, "chrom=" + chrom, "&pos=" + pos, "&allele=" + alt);
+
+    if (beacon !== "all") {
+        urlArr.push("&beacon=" + beacon);
+    }
+    if (ref !== "all") {
+        urlArr.push("&ref=" + ref);
+    }
+
+    return urlArr.join("");
+}
+
 function queryBeacon(beacon, chrom, pos, alt, ref) {
     var xhr = createRequest();
 
@@ -135,29 +180,11 @@ function queryBeacon(beacon, chrom, pos, alt, ref) {
             var rows = "";
 
             for (var i = 0; i < arrayLength; i++) {
-                var response = obj[i].response;
-                var responseIndicator = "";
-
-                if (response === null) {
-                    responseIndicator = "<span title='There was a problem obtaining the response for this beacon.' class='label label-warning'>ERROR</span>";
-                } else if (response === true) {
-                    responseIndicator = "<span class='label label-success'>YES</span>";
-                } else {
-                    responseIndicator = "<span class='label label-danger'>NO</span>";
-                }
+                var line = renderResponseRow(obj[i]);
 
-                var aggField = obj[i].beacon.aggregator;
-                var aggString = "";
-
-                if (aggField !== null && aggField === true) {
-                    aggString = " [aggregator]";
-                }
-
-                if (obj[i].beacon.name === "Beacon of Beacons") {
-                    var line = "<tr style=\"padding-bottom: 10em;\"><td>" + responseIndicator + "</td><td><b>" + obj[i].beacon.name + " (" + obj[i].beacon.organization + ")</b></td></tr>";
+                if (isMainBeacon(obj[i])) {
                     rows = line + rows; // prepend
                 } else {
-                    var line = "<tr><td>" + responseIndicator + "</td><td>" + obj[i].beacon.name + " (" + obj[i].beacon.organization + ")" + aggString + "</td></tr>";
                     rows += line; // append
                 }
             }
@@ -173,18 +200,61 @@ function queryBeacon(beacon, chrom, pos, alt, ref) {
         document.getElementById("results").innerHTML = "Request timed out.";
     };
 
-    var urlArr = [];
-    urlArr.push(responsesUrl, "chrom=" + chrom, "&pos=" + pos, "&allele=" + alt);
+    sendRequest(openRequest(xhr, "GET", createQueryUrl(responsesUrl, beacon, chrom, pos, alt, ref)));
+}
 
-    if (beacon !== "all") {
-        urlArr.push("&beacon=" + beacon);
-    }
-    if (ref !== "all") {
-        urlArr.push("&ref=" + ref);
+/*
+ * renders responses as the beacons resolve, falls back to a regular query
+ * when the browser or the server does not support server-sent events
+ */
+function queryBeaconStream(beacon, chrom, pos, alt, ref) {
+    if (typeof EventSource === "undefined") {
+        queryBeacon(beacon, chrom, pos, alt, ref);
+        return;
     }
-    var url = urlArr.join("");
 
-    sendRequest(openRequest(xhr, "GET", url));
+    var source = new EventSource(createQueryUrl(responsesStreamUrl, beacon, chrom, pos, alt, ref));
+    var received = false;
+    var table = null;
+
+    source.addEventListener("response", function (e) {
+        var obj = JSON.parse(e.data);
+
+        if (!received) {
+            received = true;
+            document.getElementById("results").innerHTML = "<center><table id=\"result_rows\"></table><div id=\"results_wait\"><img height='30' src='img/wait.gif'></div></center>";
+            table = document.getElementById("result_rows");
+        }
+
+        var row = table.insertRow(isMainBeacon(obj) ? 0 : -1);
+        row.outerHTML = renderResponseRow(obj);
+    });
+
+    source.addEventListener("summary", function () {
+        // the server closes the stream after the summary, don't let the browser reconnect
+        source.close();
+
+        var wait = document.getElementById("results_wait");
+        if (wait !== null) {
+            wait.parentNode.removeChild(wait);
+        }
+        if (!received) {
+            document.getElementById("results").innerHTML = "";
+        }
+    });
+
+    source.onerror = function () {
+        source.close();
+
+        if (!received) {
+            queryBeacon(beacon, chrom, pos, alt, ref);
+        } else {
+            var wait = document.getElementById("results_wait");
+            if (wait !== null) {
+                wait.innerHTML = "Some responses could not be obtained.";
+            }
+        }
+    };
 }
 
 function printResponses() {
@@ -234,8 +304,8 @@ function printResponses() {
         var paramString = paramArr.join("");
 
         document.getElementById("params").innerHTML = paramString;
-        queryBeacon(beacon, chrom, pos, alt, ref);
         document.getElementById("results").innerHTML = "<center><img height='30' src='img/wait.gif'</center>";
+        queryBeaconStream(beacon, chrom, pos, alt, ref);
     }
 }
 
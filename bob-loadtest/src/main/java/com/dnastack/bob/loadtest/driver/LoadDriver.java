@@ -0,0 +1,236 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.loadtest.driver;
+
+import com.dnastack.bob.loadtest.mock.MockBeaconFarm;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+
+/**
+ * Closed-loop load driver replaying a query mix against the responses endpoint of BoB and reporting throughput and
+ * latency percentiles. Configured by system properties:
+ * <ul>
+ * <li>load.url - responses endpoint of BoB</li>
+ * <li>load.concurrency - number of clients issuing queries back to back</li>
+ * <li>load.warmup, load.duration - length of the warm-up, which is not measured, and of the measurement in s</li>
+ * <li>load.mix - query mix file, the bundled mix by default</li>
+ * <li>load.seed - seed of the query sequence of the clients</li>
+ * <li>load.timeout - timeout of a single request in ms</li>
+ * <li>load.farm - start a mock beacon farm in the same process, configured by the mock.* properties</li>
+ * </ul>
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class LoadDriver {
+
+    private final CloseableHttpClient client;
+    private final String url;
+    private final QueryMix mix;
+    private final int concurrency;
+    private final long seed;
+
+    public LoadDriver(String url, QueryMix mix, int concurrency, long seed, int timeout) {
+        PoolingHttpClientConnectionManager cm = new PoolingHttpClientConnectionManager();
+        cm.setMaxTotal(concurrency);
+        cm.setDefaultMaxPerRoute(concurrency);
+        RequestConfig config = RequestConfig.custom().setConnectTimeout(timeout).setConnectionRequestTimeout(timeout).setSocketTimeout(timeout).build();
+
+        this.client = HttpClients.custom().setConnectionManager(cm).setDefaultRequestConfig(config).build();
+        this.url = url;
+        this.mix = mix;
+        this.concurrency = concurrency;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs the load.
+     *
+     * @param warmup   length of the warm-up in s
+     * @param duration length of the measurement in s
+     *
+     * @return report
+     *
+     * @throws InterruptedException if interrupted while waiting for the clients
+     * @throws ExecutionException   if a client fails
+     */
+    public Report run(long warmup, long duration) throws InterruptedException, ExecutionException {
+        long start = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmup);
+        long end = start + TimeUnit.SECONDS.toNanos(duration);
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Report>> clients = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(new Client(new Random(seed + i), start, end)));
+            }
+
+            Report res = new Report(duration);
+            for (Future<Report> f : clients) {
+                res.add(f.get());
+            }
+            return res;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Releases the connections.
+     *
+     * @throws IOException if the client cannot be closed
+     */
+    public void close() throws IOException {
+        client.close();
+    }
+
+    private class Client implements Callable<Report> {
+
+        private final Random random;
+        private final long start;
+        private final long end;
+
+        public Client(Random random, long start, long end) {
+            this.random = random;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public Report call() {
+            Report res = new Report(0);
+            long now = System.nanoTime();
+            while (now < end) {
+                HttpGet get = new HttpGet(url + "?" + mix.next(random));
+                boolean ok;
+                try {
+                    HttpResponse response = client.execute(get);
+                    EntityUtils.consume(response.getEntity());
+                    ok = response.getStatusLine().getStatusCode() / 100 == 2;
+                } catch (IOException ex) {
+                    ok = false;
+                }
+
+                long latency = System.nanoTime() - now;
+                now += latency;
+                if (now - latency >= start) {
+                    res.record(ok, latency);
+                }
+            }
+
+            return res;
+        }
+    }
+
+    /**
+     * Results of a load run.
+     */
+    public static class Report {
+
+        private final LatencyRecorder latencies = new LatencyRecorder();
+        private final long duration;
+        private long errors;
+
+        public Report(long duration) {
+            this.duration = duration;
+        }
+
+        public void record(boolean ok, long latency) {
+            if (ok) {
+                latencies.record(latency);
+            } else {
+                errors++;
+            }
+        }
+
+        public void add(Report other) {
+            latencies.add(other.latencies);
+            errors += other.errors;
+        }
+
+        public long getRequests() {
+            return latencies.getCount() + errors;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getThroughput() {
+            return (duration == 0) ? 0 : (double) latencies.getCount() / duration;
+        }
+
+        public double getPercentile(double percentile) {
+            return latencies.getPercentile(percentile) / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests: %d, errors: %d, throughput: %.1f req/s%nlatency (ms): p50 %.1f, p90 %.1f, p99 %.1f, p99.9 %.1f, max %.1f", getRequests(), getErrors(), getThroughput(), getPercentile(50), getPercentile(90), getPercentile(99), getPercentile(99.9), getPercentile(100));
+        }
+    }
+
+    /**
+     * Runs the load as configured by the load.* system properties and prints the report.
+     *
+     * @param args ignored
+     *
+     * @throws Exception if the load cannot be run
+     */
+    public static void main(String[] args) throws Exception {
+        MockBeaconFarm farm = null;
+        if (Boolean.getBoolean("load.farm")) {
+            farm = new MockBeaconFarm(System.getProperties());
+            farm.start(Integer.getInteger("mock.port", MockBeaconFarm.DEFAULT_PORT), Integer.getInteger("mock.threads", 200));
+            System.out.println("Mock beacons listening, BoB has to run with -Dbob.mock.url=" + farm.getUrl());
+        }
+
+        QueryMix mix = QueryMix.load(System.getProperty("load.mix"));
+        LoadDriver driver = new LoadDriver(System.getProperty("load.url", "http://localhost:8080/bob-api/rest/responses"), mix, Integer.getInteger("load.concurrency", 16), Long.getLong("load.seed", 42L), Integer.getInteger("load.timeout", 30000));
+        try {
+            System.out.println(driver.run(Long.getLong("load.warmup", 10L), Long.getLong("load.duration", 60L)));
+        } finally {
+            driver.close();
+            if (farm != null) {
+                System.out.println("mock beacons served " + farm.getRequests() + " requests, " + farm.getErrors() + " errors");
+                farm.stop();
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.loadtest.driver;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Splitter;
+import com.google.common.io.Files;
+import com.google.common.io.Resources;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Weighted mix of queries to replay. Each line of the mix holds a weight, chromosome, position, allele and reference;
+ * a position given as * is drawn at random for every query, so that the query reaches the beacons.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class QueryMix {
+
+    private static final long MAX_POSITION = 100000000L;
+
+    private final List<String[]> queries = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private int totalWeight;
+
+    private QueryMix(List<String> lines) {
+        for (String line : lines) {
+            String l = line.trim();
+            if (l.isEmpty() || l.startsWith("#")) {
+                continue;
+            }
+
+            List<String> fields = Splitter.on(' ').omitEmptyStrings().splitToList(l);
+            if (fields.size() != 5) {
+                throw new IllegalArgumentException("Invalid query: " + line);
+            }
+            totalWeight += Integer.parseInt(fields.get(0));
+            cumulativeWeights.add(totalWeight);
+            queries.add(fields.subList(1, 5).toArray(new String[4]));
+        }
+
+        if (queries.isEmpty()) {
+            throw new IllegalArgumentException("Empty query mix");
+        }
+    }
+
+    /**
+     * Loads a mix from a file, or the default mix from the classpath if no file is given.
+     *
+     * @param file mix file, can be null
+     *
+     * @return query mix
+     *
+     * @throws IOException if the mix cannot be read
+     */
+    public static QueryMix load(String file) throws IOException {
+        if (file == null) {
+            return new QueryMix(Resources.readLines(Resources.getResource(QueryMix.class, "/query-mix.txt"), Charsets.UTF_8));
+        }
+
+        return new QueryMix(Files.readLines(new File(file), Charsets.UTF_8));
+    }
+
+    /**
+     * Draws the next query.
+     *
+     * @param random source of randomness
+     *
+     * @return query string of a BoB request
+     */
+    public String next(Random random) {
+        int w = random.nextInt(totalWeight);
+        int i = 0;
+        while (cumulativeWeights.get(i) <= w) {
+            i++;
+        }
+
+        String[] q = queries.get(i);
+        String pos = "*".equals(q[1]) ? String.valueOf(1 + (long) (random.nextDouble() * MAX_POSITION)) : q[1];
+
+        return "chrom=" + q[0] + "&pos=" + pos + "&allele=" + q[2] + "&ref=" + q[3];
+    }
+
+    /**
+     * Number of distinct query lines in the mix.
+     *
+     * @return size
+     */
+    public int size() {
+        return queries.size();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.loadtest.mock;
+
+/**
+ * Response formats of the beacons, one for each of the response parsers of BoB.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public enum Dialect {
+
+    JSON_EXISTS("JsonExistsResponseParser") {
+        @Override
+        public String render(String beacon, boolean exists, String padding) {
+            return "{\"beacon\":\"" + beacon + "\",\"info\":\"" + padding + "\",\"exists\":" + exists + "}";
+        }
+    },
+    JSON_EXISTS_GT("JsonExistsGtResponseParser") {
+        @Override
+        public String render(String beacon, boolean exists, String padding) {
+            return "{\"header\":{\"version\":\"0.2\",\"source\":\"" + beacon + "\"},\"info\":\"" + padding + "\",\"exist_gt\":" + exists + ",\"exist\":" + exists + "}";
+        }
+    },
+    JSON_RESPONSE_EXISTS("JsonResponseExistsResponseParser") {
+        @Override
+        public String render(String beacon, boolean exists, String padding) {
+            return "{\"beacon\":{\"id\":\"" + beacon + "\"},\"response\":{\"info\":\"" + padding + "\",\"exists\":" + exists + "}}";
+        }
+    },
+    JSON_RESPONSE_EXISTS_NULL_AS_FALSE("JsonResponseExistsNullAsFalseResponseParser") {
+        @Override
+        public String render(String beacon, boolean exists, String padding) {
+            return "{\"beacon\":{\"id\":\"" + beacon + "\"},\"response\":{\"info\":\"" + padding + "\",\"exists\":" + (exists ? "true" : "\"null\"") + "}}";
+        }
+    },
+    JSON_CAFE("JsonCafeResponseParser") {
+        @Override
+        public String render(String beacon, boolean exists, String padding) {
+            String field = (beacon.startsWith("cafe-") ? beacon.substring("cafe-".length()) : beacon) + "_response";
+            return "{\"info\":\"" + padding + "\",\"response\":{\"" + field + "\":\"" + exists + "\"}}";
+        }
+    },
+    STRING_FOUND("StringFoundResponseParser") {
+        @Override
+        public String render(String beacon, boolean exists, String padding) {
+            return "<html><body><p>" + padding + "</p><p>" + (exists ? "Beacon found the allele." : "Beacon cannot find the allele.") + "</p></body></html>";
+        }
+    },
+    STRING_YES_NO("StringYesNoResponseParser") {
+        @Override
+        public String render(String beacon, boolean exists, String padding) {
+            return (exists ? "Yes" : "No") + "\n" + padding;
+        }
+    },
+    STRING_YES_NO_REF("StringYesNoRefResponseParser") {
+        @Override
+        public String render(String beacon, boolean exists, String padding) {
+            return (exists ? "Yes" : "REF") + "\n" + padding;
+        }
+    };
+
+    private final String parser;
+
+    private Dialect(String parser) {
+        this.parser = parser;
+    }
+
+    /**
+     * Simple name of the parser understanding this dialect.
+     *
+     * @return parser name
+     */
+    public String getParser() {
+        return parser;
+    }
+
+    /**
+     * Produces a response of a beacon.
+     *
+     * @param beacon  beacon ID
+     * @param exists  query result
+     * @param padding filler making up the requested payload size
+     *
+     * @return response body
+     */
+    public abstract String render(String beacon, boolean exists, String padding);
+
+    /**
+     * Finds the dialect understood by the given parser.
+     *
+     * @param parser simple name of the parser
+     *
+     * @return dialect, null if unknown
+     */
+    public static Dialect forParser(String parser) {
+        for (Dialect d : values()) {
+            if (d.getParser().equals(parser)) {
+                return d;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.loadtest.mock;
+
+import java.util.Random;
+
+/**
+ * Distribution of the response times of a mock beacon.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public abstract class Latency {
+
+    /**
+     * Draws a response time.
+     *
+     * @param random source of randomness
+     *
+     * @return latency in ms
+     */
+    public abstract long next(Random random);
+
+    /**
+     * Fixed latency.
+     *
+     * @param millis latency in ms
+     *
+     * @return distribution
+     */
+    public static Latency constant(final long millis) {
+        return new Latency() {
+            @Override
+            public long next(Random random) {
+                return millis;
+            }
+
+            @Override
+            public String toString() {
+                return "constant:" + millis;
+            }
+        };
+    }
+
+    /**
+     * Latency distributed uniformly between the bounds.
+     *
+     * @param min lower bound in ms
+     * @param max upper bound in ms
+     *
+     * @return distribution
+     */
+    public static Latency uniform(final long min, final long max) {
+        if (max < min) {
+            throw new IllegalArgumentException("Upper bound " + max + " is lower than " + min);
+        }
+
+        return new Latency() {
+            @Override
+            public long next(Random random) {
+                return min + (long) (random.nextDouble() * (max - min));
+            }
+
+            @Override
+            public String toString() {
+                return "uniform:" + min + "-" + max;
+            }
+        };
+    }
+
+    /**
+     * Exponentially distributed latency.
+     *
+     * @param mean mean in ms
+     *
+     * @return distribution
+     */
+    public static Latency exponential(final double mean) {
+        return new Latency() {
+            @Override
+            public long next(Random random) {
+                return (long) (-mean * Math.log(1 - random.nextDouble()));
+            }
+
+            @Override
+            public String toString() {
+                return "exponential:" + mean;
+            }
+        };
+    }
+
+    /**
+     * Log-normally distributed latency, which has the long tail typical for remote beacons.
+     *
+     * @param median median in ms
+     * @param sigma  standard deviation of the underlying normal distribution
+     *
+     * @return distribution
+     */
+    public static Latency logNormal(final double median, final double sigma) {
+        return new Latency() {
+            @Override
+            public long next(Random random) {
+                return (long) (median * Math.exp(sigma * random.nextGaussian()));
+            }
+
+            @Override
+            public String toString() {
+                return "lognormal:" + median + "," + sigma;
+            }
+        };
+    }
+
+    /**
+     * Parses a distribution from its description, i.e. one of constant:ms, uniform:min-max, exponential:mean and
+     * lognormal:median,sigma.
+     *
+     * @param spec description
+     *
+     * @return distribution
+     */
+    public static Latency parse(String spec) {
+        String[] parts = spec.trim().split(":", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid latency: " + spec);
+        }
+
+        String args = parts[1].trim();
+        switch (parts[0].trim().toLowerCase()) {
+            case "constant":
+                return constant(Long.parseLong(args));
+            case "uniform":
+                String[] bounds = args.split("-");
+                return uniform(Long.parseLong(bounds[0].trim()), Long.parseLong(bounds[1].trim()));
+            case "exponential":
+                return exponential(Double.parseDouble(args));
+            case "lognormal":
+                String[] params = args.split(",");
+                return logNormal(Double.parseDouble(params[0].trim()), Double.parseDouble(params[1].trim()));
+            default:
+                throw new IllegalArgumentException("Unknown latency distribution: " + parts[0]);
+        }
+    }
+}
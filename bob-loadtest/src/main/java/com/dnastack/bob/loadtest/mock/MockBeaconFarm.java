@@ -0,0 +1,208 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.loadtest.mock;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Strings;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process farm of mock beacons. A beacon is addressed as /{parser}/{beaconId}, where parser is the simple name of
+ * the BoB response parser the beacon should be understood by, so any number of beacons can be served without
+ * registering them up front. Answers are a deterministic function of the beacon and the query string, so repeated
+ * queries behave like a real beacon. Latency, error rate, payload size and share of positive answers are configured
+ * per farm (mock.latency, mock.errorRate, mock.payloadSize, mock.positiveRate) and can be overridden per beacon
+ * (mock.{beaconId}.latency etc.).
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class MockBeaconFarm {
+
+    public static final int DEFAULT_PORT = 8089;
+    private static final MockBeaconProfile DEFAULT_PROFILE = new MockBeaconProfile(Latency.logNormal(50, 0.5), 0, 0, 0.5);
+    private static final String PREFIX = "mock.";
+
+    static {
+        // headers and body are written separately, Nagle's algorithm would hold the body back for a delayed ACK
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final Properties properties;
+    private final MockBeaconProfile defaultProfile;
+    private final ConcurrentMap<String, MockBeaconProfile> profiles = new ConcurrentHashMap<>();
+    private final Random random;
+    private final HashFunction answers;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates a farm configured by the given properties.
+     *
+     * @param properties configuration
+     */
+    public MockBeaconFarm(Properties properties) {
+        this.properties = properties;
+        this.defaultProfile = MockBeaconProfile.fromProperties(properties, PREFIX, DEFAULT_PROFILE);
+        long seed = Long.parseLong(properties.getProperty(PREFIX + "seed", "42"));
+        this.random = new Random(seed);
+        this.answers = Hashing.murmur3_32((int) seed);
+    }
+
+    private MockBeaconProfile getProfile(String beacon) {
+        MockBeaconProfile p = profiles.get(beacon);
+        if (p == null) {
+            p = MockBeaconProfile.fromProperties(properties, PREFIX + beacon + ".", defaultProfile);
+            profiles.putIfAbsent(beacon, p);
+        }
+
+        return p;
+    }
+
+    private boolean answer(String beacon, String query, MockBeaconProfile profile) {
+        int bucket = (answers.hashString(beacon + "?" + query, Charsets.UTF_8).asInt() & Integer.MAX_VALUE) % 1000;
+
+        return bucket < profile.getPositiveRate() * 1000;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(Charsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    /**
+     * Starts serving the beacons.
+     *
+     * @param port    port to listen on, 0 for any free port
+     * @param threads number of requests served concurrently
+     *
+     * @throws IOException if the port cannot be bound
+     */
+    public void start(int port, int threads) throws IOException {
+        executor = Executors.newFixedThreadPool(threads);
+        server = HttpServer.create(new InetSocketAddress(port), threads);
+        server.createContext("/", new BeaconHandler());
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Stops serving the beacons, dropping the requests in progress.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Base URL of the farm, to be passed to BoB as bob.mock.url.
+     *
+     * @return URL
+     */
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    private class BeaconHandler implements HttpHandler {
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                String[] path = exchange.getRequestURI().getPath().split("/");
+                Dialect dialect = (path.length == 3) ? Dialect.forParser(path[1]) : null;
+                if (dialect == null) {
+                    respond(exchange, 404, "Unknown beacon");
+                    return;
+                }
+
+                String beacon = path[2];
+                MockBeaconProfile profile = getProfile(beacon);
+                requests.incrementAndGet();
+                TimeUnit.MILLISECONDS.sleep(profile.getLatency().next(random));
+                if (random.nextDouble() < profile.getErrorRate()) {
+                    errors.incrementAndGet();
+                    respond(exchange, 500, "Internal Server Error");
+                    return;
+                }
+
+                respond(exchange, 200, dialect.render(beacon, answer(beacon, exchange.getRequestURI().getRawQuery(), profile), Strings.repeat("x", profile.getPayloadSize())));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    /**
+     * Runs the farm until killed. Listens on mock.port with mock.threads worker threads.
+     *
+     * @param args ignored
+     *
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        final MockBeaconFarm farm = new MockBeaconFarm(System.getProperties());
+        farm.start(Integer.getInteger(PREFIX + "port", DEFAULT_PORT), Integer.getInteger(PREFIX + "threads", 200));
+        Runtime.getRuntime().addShutdownHook(new Thread() {
+            @Override
+            public void run() {
+                farm.stop();
+                System.out.println("Served " + farm.getRequests() + " requests, " + farm.getErrors() + " errors");
+            }
+        });
+
+        System.out.println("Mock beacons with " + farm.defaultProfile + " listening, start BoB with -Dbob.mock.url=" + farm.getUrl());
+    }
+}
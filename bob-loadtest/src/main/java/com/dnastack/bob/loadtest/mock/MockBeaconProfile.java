@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.loadtest.mock;
+
+import java.util.Properties;
+
+/**
+ * Behaviour of a mock beacon.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class MockBeaconProfile {
+
+    private final Latency latency;
+    private final double errorRate;
+    private final int payloadSize;
+    private final double positiveRate;
+
+    public MockBeaconProfile(Latency latency, double errorRate, int payloadSize, double positiveRate) {
+        if (errorRate < 0 || errorRate > 1 || positiveRate < 0 || positiveRate > 1) {
+            throw new IllegalArgumentException("Rates have to be between 0 and 1");
+        }
+        if (payloadSize < 0) {
+            throw new IllegalArgumentException("Payload size cannot be negative");
+        }
+
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.payloadSize = payloadSize;
+        this.positiveRate = positiveRate;
+    }
+
+    /**
+     * Reads a profile from properties prefix.latency, prefix.errorRate, prefix.payloadSize and prefix.positiveRate,
+     * falling back to the given defaults.
+     *
+     * @param properties properties
+     * @param prefix     prefix of the property names
+     * @param defaults   profile supplying the missing values
+     *
+     * @return profile
+     */
+    public static MockBeaconProfile fromProperties(Properties properties, String prefix, MockBeaconProfile defaults) {
+        String latency = properties.getProperty(prefix + "latency");
+        String errorRate = properties.getProperty(prefix + "errorRate");
+        String payloadSize = properties.getProperty(prefix + "payloadSize");
+        String positiveRate = properties.getProperty(prefix + "positiveRate");
+
+        return new MockBeaconProfile((latency == null) ? defaults.getLatency() : Latency.parse(latency), (errorRate == null) ? defaults.getErrorRate() : Double.parseDouble(errorRate), (payloadSize == null) ? defaults.getPayloadSize() : Integer.parseInt(payloadSize), (positiveRate == null) ? defaults.getPositiveRate() : Double.parseDouble(positiveRate));
+    }
+
+    public Latency getLatency() {
+        return latency;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public int getPayloadSize() {
+        return payloadSize;
+    }
+
+    public double getPositiveRate() {
+        return positiveRate;
+    }
+
+    @Override
+    public String toString() {
+        return "MockBeaconProfile{" + "latency=" + latency + ", errorRate=" + errorRate + ", payloadSize=" + payloadSize + ", positiveRate=" + positiveRate + '}';
+    }
+}
@@ -29,6 +29,7 @@ import com.dnastack.bob.rest.resource.BeaconResponseResource;
 import com.dnastack.bob.rest.resource.ChromosomeResource;
 import com.dnastack.bob.rest.resource.ReferenceResource;
 import com.dnastack.bob.rest.resource.RestEndPointResource;
+import com.dnastack.bob.rest.resource.StatsResource;
 import com.dnastack.bob.rest.util.ExceptionHandler;
 import com.dnastack.bob.rest.util.LoggingFilter;
 import java.util.Arrays;
@@ -51,7 +52,7 @@ public class BeaconApplication extends Application {
     
     @Override
     public Set<Class<?>> getClasses() {
-        return new HashSet<>(Arrays.asList(RestEndPointResource.class, BeaconResource.class, BeaconResponseResource.class, ReferenceResource.class, ChromosomeResource.class, AllleleResource.class, LoggingFilter.class, ExceptionHandler.class));
+        return new HashSet<>(Arrays.asList(RestEndPointResource.class, BeaconResource.class, BeaconResponseResource.class, ReferenceResource.class, ChromosomeResource.class, AllleleResource.class, StatsResource.class, LoggingFilter.class, ExceptionHandler.class));
     }
     
     @Override
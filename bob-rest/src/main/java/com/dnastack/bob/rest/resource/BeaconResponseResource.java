@@ -24,21 +24,43 @@
 package com.dnastack.bob.rest.resource;
 
 import com.dnastack.bob.rest.util.BeaconResponseToComparator;
+import com.dnastack.bob.rest.util.ServerSentEventWriter;
+import com.dnastack.bob.rest.util.VariantLineParser;
+import com.dnastack.bob.service.api.BeaconResponseListener;
 import com.dnastack.bob.service.api.BeaconResponseService;
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.dto.BeaconResponseMatrixTo;
+import com.dnastack.bob.service.dto.BeaconResponseSummaryTo;
 import com.dnastack.bob.service.dto.BeaconResponseTo;
+import com.dnastack.bob.service.dto.VariantTo;
 import com.dnastack.bob.service.parser.util.ParseUtils;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.Providers;
+
+import static com.dnastack.bob.rest.util.ServerSentEventWriter.SERVER_SENT_EVENTS;
+import static com.dnastack.bob.service.util.Constants.BATCH_MAX_VARIANTS;
+import static com.dnastack.bob.service.util.Constants.MAX_REQUEST_TIMEOUT;
 
 /**
  * Query rest resource.
@@ -61,6 +83,9 @@ public class BeaconResponseResource {
     @Inject
     private ParseUtils parseUtils;
 
+    @Context
+    private Providers providers;
+
     /**
      * Query a given beacon
      *
@@ -69,13 +94,14 @@ public class BeaconResponseResource {
      * @param pos      position
      * @param allele   allele
      * @param ref      reference genome (optional)
+     * @param timeout  time budget for the whole query in ms (optional, capped by the server)
      *
      * @return list of beacon responses
      */
     @GET
     @Path("/{beaconId}")
-    public BeaconResponseTo queryBeacon(@PathParam("beaconId") String beaconId, @QueryParam("chrom") String chrom, @QueryParam("pos") Long pos, @QueryParam("allele") String allele, @QueryParam("ref") String ref) throws ClassNotFoundException {
-        return beaconResponseService.queryBeacon(beaconId, chrom, pos, allele, ref);
+    public BeaconResponseTo queryBeacon(@PathParam("beaconId") String beaconId, @QueryParam("chrom") String chrom, @QueryParam("pos") Long pos, @QueryParam("allele") String allele, @QueryParam("ref") String ref, @QueryParam("timeout") Long timeout) throws ClassNotFoundException {
+        return beaconResponseService.queryBeacon(beaconId, chrom, pos, allele, ref, Deadline.of(timeout, MAX_REQUEST_TIMEOUT));
     }
 
     /**
@@ -86,20 +112,125 @@ public class BeaconResponseResource {
      * @param pos       position
      * @param allele    allele
      * @param ref       reference genome (optional)
+     * @param timeout   time budget for the whole query in ms (optional, capped by the server)
      *
      * @return list of beacon responses
      *
      * @throws java.lang.ClassNotFoundException
      */
     @GET
-    public Collection<BeaconResponseTo> query(@QueryParam("beacon") String beaconIds, @QueryParam("chrom") String chrom, @QueryParam("pos") Long pos, @QueryParam("allele") String allele, @QueryParam("ref") String ref) throws ClassNotFoundException {
+    public Collection<BeaconResponseTo> query(@QueryParam("beacon") String beaconIds, @QueryParam("chrom") String chrom, @QueryParam("pos") Long pos, @QueryParam("allele") String allele, @QueryParam("ref") String ref, @QueryParam("timeout") Long timeout) throws ClassNotFoundException {
+        Deadline deadline = Deadline.of(timeout, MAX_REQUEST_TIMEOUT);
         Set<BeaconResponseTo> brs = new TreeSet<>(beaconResponseComparator);
         if (beaconIds == null) {
-            brs.addAll(beaconResponseService.queryAll(chrom, pos, allele, ref));
+            brs.addAll(beaconResponseService.queryAll(chrom, pos, allele, ref, deadline));
         } else {
-            brs.addAll(beaconResponseService.queryBeacons(parseUtils.parseMultipleParameterValues(beaconIds), chrom, pos, allele, ref));
+            brs.addAll(beaconResponseService.queryBeacons(parseUtils.parseMultipleParameterValues(beaconIds), chrom, pos, allele, ref, deadline));
         }
 
         return brs;
     }
+
+    /**
+     * Query all the beacons or specific beacons and stream their responses as server-sent events. A "response" event
+     * is sent for each beacon as soon as it resolves, followed by a "summary" event once all the beacons are done.
+     *
+     * @param beaconIds beacons to query (optional)
+     * @param chrom     chromosome
+     * @param pos       position
+     * @param allele    allele
+     * @param ref       reference genome (optional)
+     * @param timeout   time budget for the whole query in ms (optional, capped by the server)
+     *
+     * @return stream of beacon responses
+     */
+    @GET
+    @Path("/stream")
+    @Produces(SERVER_SENT_EVENTS)
+    public Response queryStream(@QueryParam("beacon") String beaconIds, @QueryParam("chrom") final String chrom, @QueryParam("pos") final Long pos, @QueryParam("allele") final String allele, @QueryParam("ref") final String ref, @QueryParam("timeout") Long timeout) {
+        final long start = System.nanoTime();
+        final Deadline deadline = Deadline.of(timeout, MAX_REQUEST_TIMEOUT);
+        final Collection<String> ids = (beaconIds == null) ? null : parseUtils.parseMultipleParameterValues(beaconIds);
+
+        StreamingOutput stream = new StreamingOutput() {
+
+            @Override
+            public void write(OutputStream output) throws IOException, WebApplicationException {
+                final ServerSentEventWriter events = new ServerSentEventWriter(providers, output);
+                final BeaconResponseSummaryTo summary = new BeaconResponseSummaryTo();
+                try {
+                    beaconResponseService.queryStream(ids, chrom, pos, allele, ref, deadline, new BeaconResponseListener() {
+
+                        @Override
+                        public void onResponse(BeaconResponseTo response) {
+                            summary.setQuery(response.getQuery());
+                            summary.setBeacons(summary.getBeacons() + 1);
+                            if (response.getResponse() == null) {
+                                summary.setUnanswered(summary.getUnanswered() + 1);
+                            } else if (response.getResponse()) {
+                                summary.setFound(summary.getFound() + 1);
+                            } else {
+                                summary.setNotFound(summary.getNotFound() + 1);
+                            }
+                            events.write("response", response);
+                        }
+                    });
+                } catch (ClassNotFoundException ex) {
+                    throw new WebApplicationException(ex);
+                }
+
+                summary.setElapsed(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                events.write("summary", summary);
+            }
+        };
+
+        return Response.ok(stream).header("Cache-Control", "no-cache").build();
+    }
+
+    /**
+     * Query all the beacons or specific beacons with a batch of variants.
+     *
+     * @param beaconIds beacons to query (optional)
+     * @param ref       reference genome of the variants not specifying one (optional)
+     * @param timeout   time budget for the whole batch in ms (optional, capped by the server)
+     * @param variants  variants
+     *
+     * @return responses of the beacons to each of the variants
+     *
+     * @throws java.lang.ClassNotFoundException
+     */
+    @POST
+    @Path("/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public BeaconResponseMatrixTo queryBatch(@QueryParam("beacon") String beaconIds, @QueryParam("ref") String ref, @QueryParam("timeout") Long timeout, List<VariantTo> variants) throws ClassNotFoundException {
+        if (variants == null || variants.size() > BATCH_MAX_VARIANTS) {
+            throw new IllegalArgumentException("A batch has to contain at most " + BATCH_MAX_VARIANTS + " variants.");
+        }
+        for (VariantTo v : variants) {
+            if (v != null && v.getRef() == null) {
+                v.setRef(ref);
+            }
+        }
+
+        return beaconResponseService.queryBatch(beaconIds == null ? null : parseUtils.parseMultipleParameterValues(beaconIds), variants, Deadline.of(timeout, MAX_REQUEST_TIMEOUT));
+    }
+
+    /**
+     * Query all the beacons or specific beacons with a batch of variants in VCF or BoB text format, one per line.
+     *
+     * @param beaconIds beacons to query (optional)
+     * @param ref       reference genome of the variants not specifying one (optional)
+     * @param timeout   time budget for the whole batch in ms (optional, capped by the server)
+     * @param variants  variants
+     *
+     * @return responses of the beacons to each of the variants
+     *
+     * @throws java.lang.ClassNotFoundException
+     */
+    @POST
+    @Path("/batch")
+    @Consumes(MediaType.TEXT_PLAIN)
+    public BeaconResponseMatrixTo queryBatch(@QueryParam("beacon") String beaconIds, @QueryParam("ref") String ref, @QueryParam("timeout") Long timeout, String variants) throws ClassNotFoundException {
+        return queryBatch(beaconIds, ref, timeout, VariantLineParser.parse(variants, ref));
+    }
 }
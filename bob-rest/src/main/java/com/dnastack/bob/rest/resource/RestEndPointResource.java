@@ -55,6 +55,7 @@ public class RestEndPointResource {
     private static final RestEndPoint alleles = new RestEndPoint("alleles", "alleles", "alleles");
     private static final RestEndPoint chromosomes = new RestEndPoint("chromosomes", "chromosomes", "chromosomes");
     private static final RestEndPoint references = new RestEndPoint("references", "references", "references");
+    private static final RestEndPoint stats = new RestEndPoint("stats", "stats", "stats/pool");
 
     @Context
     private UriInfo uriInfo;
@@ -79,6 +80,7 @@ public class RestEndPointResource {
         reps.add(new RestEndPoint(alleles.getId(), baseUrl + alleles.getBaseUrl(), baseUrl + alleles.getExample()));
         reps.add(new RestEndPoint(chromosomes.getId(), baseUrl + chromosomes.getBaseUrl(), baseUrl + chromosomes.getExample()));
         reps.add(new RestEndPoint(references.getId(), baseUrl + references.getBaseUrl(), baseUrl + references.getExample()));
+        reps.add(new RestEndPoint(stats.getId(), baseUrl + stats.getBaseUrl(), baseUrl + stats.getExample()));
 
         return Collections.unmodifiableSet(reps);
     }
@@ -0,0 +1,142 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.rest.resource;
+
+import com.dnastack.bob.service.dto.BeaconTimeoutTo;
+import com.dnastack.bob.service.dto.BulkheadStatsTo;
+import com.dnastack.bob.service.dto.CacheStatsTo;
+import com.dnastack.bob.service.dto.CoalescingStatsTo;
+import com.dnastack.bob.service.dto.ConnectionPoolTo;
+import com.dnastack.bob.service.dto.QueryLogStatsTo;
+import com.dnastack.bob.service.fetcher.util.HttpUtils;
+import com.dnastack.bob.service.util.BeaconTimeouts;
+import com.dnastack.bob.service.util.Bulkheads;
+import com.dnastack.bob.service.util.QueryCoalescer;
+import com.dnastack.bob.service.util.QueryLog;
+import com.dnastack.bob.service.util.ResponseCache;
+import java.util.Collection;
+import javax.enterprise.context.RequestScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Runtime statistics rest resource.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Path("/stats")
+@Produces({MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.TEXT_PLAIN})
+@RequestScoped
+@Named
+public class StatsResource {
+
+    @Inject
+    private HttpUtils httpUtils;
+
+    @Inject
+    private ResponseCache responseCache;
+
+    @Inject
+    private QueryCoalescer queryCoalescer;
+
+    @Inject
+    private BeaconTimeouts beaconTimeouts;
+
+    @Inject
+    private Bulkheads bulkheads;
+
+    @Inject
+    private QueryLog queryLog;
+
+    /**
+     * Shows usage of the HTTP connection pool.
+     *
+     * @return leased, pending and available connections in total and per beacon host
+     */
+    @GET
+    @Path("/pool")
+    public Collection<ConnectionPoolTo> showPool() {
+        return httpUtils.getPoolStats();
+    }
+
+    /**
+     * Shows usage of the beacon response cache.
+     *
+     * @return size, hits, misses and evictions of the cache
+     */
+    @GET
+    @Path("/cache")
+    public CacheStatsTo showCache() {
+        return responseCache.getStats();
+    }
+
+    /**
+     * Shows how many beacon queries were shared by identical concurrent queries.
+     *
+     * @return queries in flight, executed and coalesced
+     */
+    @GET
+    @Path("/coalescing")
+    public CoalescingStatsTo showCoalescing() {
+        return queryCoalescer.getStats();
+    }
+
+    /**
+     * Shows the current timeouts of the beacons derived from their observed latencies.
+     *
+     * @return latency samples, latency percentile and effective timeout (in ms) per beacon
+     */
+    @GET
+    @Path("/timeouts")
+    public Collection<BeaconTimeoutTo> showTimeouts() {
+        return beaconTimeouts.getTimeouts();
+    }
+
+    /**
+     * Shows how many queries of each beacon are in flight, waiting and rejected by its bulkhead.
+     *
+     * @return in-flight, queued, admitted and rejected queries per beacon
+     */
+    @GET
+    @Path("/bulkheads")
+    public Collection<BulkheadStatsTo> showBulkheads() {
+        return bulkheads.getStats();
+    }
+
+    /**
+     * Shows how many queries were logged, dropped and written to the audit log.
+     *
+     * @return queries buffered, logged, dropped, written and failed to be written
+     */
+    @GET
+    @Path("/queryLog")
+    public QueryLogStatsTo showQueryLog() {
+        return queryLog.getStats();
+    }
+}
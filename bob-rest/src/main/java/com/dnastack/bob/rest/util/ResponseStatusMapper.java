@@ -34,7 +34,7 @@ import javax.ws.rs.core.Response;
  */
 public class ResponseStatusMapper {
 
-    private static final ImmutableMap<String, Response.Status> mapping = ImmutableMap.of();
+    private static final ImmutableMap<String, Response.Status> mapping = ImmutableMap.of(IllegalArgumentException.class.getCanonicalName(), Response.Status.BAD_REQUEST);
 
     /**
      * Retrieves Response.Status from a given exception according to the static mapping. If the mapping does not contain
@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.rest.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+
+/**
+ * Writes server-sent events with JSON data to a response stream. The data is serialized by the same providers as
+ * regular JSON responses, so that the events carry the same representation. Every event is flushed immediately.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class ServerSentEventWriter {
+
+    public static final String SERVER_SENT_EVENTS = "text/event-stream";
+
+    private static final Annotation[] ANNOTATIONS = new Annotation[0];
+
+    private final Providers providers;
+    private final OutputStream output;
+    private boolean closed = false;
+
+    public ServerSentEventWriter(Providers providers, OutputStream output) {
+        this.providers = providers;
+        this.output = output;
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] toJson(Object data) throws IOException {
+        Class<Object> type = (Class<Object>) data.getClass();
+        MessageBodyWriter<Object> writer = providers.getMessageBodyWriter(type, type, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE);
+        if (writer == null) {
+            throw new IllegalStateException("No JSON writer for " + type.getName());
+        }
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        writer.writeTo(data, type, type, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<String, Object>(), json);
+
+        return json.toByteArray();
+    }
+
+    /**
+     * Writes an event. Once the client disconnects, the remaining events are dropped.
+     *
+     * @param event event name
+     * @param data  event data
+     */
+    public void write(String event, Object data) {
+        if (closed) {
+            return;
+        }
+
+        try {
+            output.write(("event: " + event + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+            output.write(toJson(data));
+            output.write("\n\n".getBytes(StandardCharsets.UTF_8));
+            output.flush();
+        } catch (IOException ex) {
+            closed = true;
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.rest.util;
+
+import com.dnastack.bob.service.dto.VariantTo;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses a batch of variants submitted as plain text, one variant per line. A line is either a VCF data line (CHROM,
+ * POS, ID, REF, ALT, ...), with 1-based positions and one variant per alternate allele, or a line in the BoB format
+ * (chromosome, 0-based position, allele and optionally reference genome). Fields are separated by whitespace, header
+ * and comment lines start with '#'.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class VariantLineParser {
+
+    private static final String SEPARATOR = "\\s+";
+    private static final String COMMENT = "#";
+
+    private static String getAllele(String ref, String alt) {
+        if (alt.length() > ref.length()) {
+            return "I";
+        } else if (alt.length() < ref.length()) {
+            return "D";
+        }
+
+        return alt;
+    }
+
+    private static long getPosition(String pos, String line) {
+        try {
+            return Long.parseLong(pos);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid position in line: " + line);
+        }
+    }
+
+    /**
+     * Parses variants.
+     *
+     * @param text variants, one per line
+     * @param ref  reference genome of the variants not specifying one (optional)
+     *
+     * @return variants in the order of the lines
+     */
+    public static List<VariantTo> parse(String text, String ref) {
+        List<VariantTo> vs = new ArrayList<>();
+        if (text == null) {
+            return vs;
+        }
+
+        for (String line : text.split("\\r?\\n")) {
+            String l = line.trim();
+            if (l.isEmpty() || l.startsWith(COMMENT)) {
+                continue;
+            }
+
+            String[] fs = l.split(SEPARATOR);
+            if (fs.length >= 5) {
+                long pos = getPosition(fs[1], l) - 1;
+                for (String alt : fs[4].split(",")) {
+                    vs.add(new VariantTo(fs[0], pos, getAllele(fs[3], alt), ref));
+                }
+            } else if (fs.length >= 3) {
+                vs.add(new VariantTo(fs[0], getPosition(fs[1], l), fs[2], fs.length > 3 ? fs[3] : ref));
+            } else {
+                throw new IllegalArgumentException("Invalid variant: " + l);
+            }
+        }
+
+        return vs;
+    }
+}
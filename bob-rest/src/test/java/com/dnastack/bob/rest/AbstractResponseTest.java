@@ -49,6 +49,10 @@ public abstract class AbstractResponseTest extends BasicTest {
     public static final String QUERY_WITH_REF_TEMPLATE = "rest/responses?chrom=%s&pos=%s&allele=%s&ref=%s";
     public static final String QUERY_BEACON_TEMPLATE = "rest/responses/%s?chrom=%s&pos=%s&allele=%s";
     public static final String QUERY_BEACON_WITH_REF_TEMPLATE = "rest/responses/%s?chrom=%s&pos=%s&allele=%s&ref=%s";
+    public static final String QUERY_STREAM_TEMPLATE = "rest/responses/stream?chrom=%s&pos=%s&allele=%s";
+    public static final String QUERY_STREAM_FILTER_TEMPLATE = "rest/responses/stream?beacon=%s&chrom=%s&pos=%s&allele=%s";
+    public static final String QUERY_BATCH_TEMPLATE = "rest/responses/batch";
+    public static final String QUERY_BATCH_FILTER_TEMPLATE = "rest/responses/batch?beacon=%s";
     // paths for jettisson (not jackson)
     public static final String BEACON_RESPONSE = "beaconResponse";
     public static final List<String> BEACON_PATH = ImmutableList.of(BEACON_RESPONSE, "beacon", "id");
@@ -30,6 +30,8 @@ import com.dnastack.bob.rest.util.ParameterRule;
 import com.dnastack.bob.rest.util.QueryEntry;
 import com.dnastack.bob.rest.util.DataProvider;
 import com.dnastack.bob.service.fetcher.util.HttpUtils;
+import java.io.IOException;
+import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
@@ -40,6 +42,12 @@ import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.transform.stream.StreamSource;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
 import org.eclipse.persistence.jaxb.JAXBContextProperties;
 import org.jboss.arquillian.container.test.api.Deployment;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
@@ -90,18 +98,36 @@ public abstract class BasicTest {
         return war;
     }
 
-    public static Object readObject(Class c, String url) throws JAXBException, MalformedURLException {
+    private static Object readObject(Class c, StreamSource source) throws JAXBException {
         JAXBContext jc = JAXBContext.newInstance(c);
 
         Unmarshaller unmarshaller = jc.createUnmarshaller();
         unmarshaller.setProperty(JAXBContextProperties.MEDIA_TYPE, "application/json");
         unmarshaller.setProperty(JAXBContextProperties.JSON_INCLUDE_ROOT, false);
-        StreamSource source = new StreamSource(url);
         JAXBElement jaxbElement = unmarshaller.unmarshal(source, c);
 
         return jaxbElement.getValue();
     }
 
+    public static Object readObject(Class c, String url) throws JAXBException, MalformedURLException {
+        return readObject(c, new StreamSource(url));
+    }
+
+    public static Object parseObject(Class c, String json) throws JAXBException {
+        return readObject(c, new StreamSource(new StringReader(json)));
+    }
+
+    public static HttpResponse execute(HttpRequestBase request) throws IOException {
+        // the body is read before the connection is closed
+        try (CloseableHttpClient client = HttpClients.createDefault(); CloseableHttpResponse response = client.execute(request)) {
+            if (response.getEntity() != null) {
+                response.setEntity(new BufferedHttpEntity(response.getEntity()));
+            }
+
+            return response;
+        }
+    }
+
     public static String readResponse(String url) {
         try {
             return httpUtils.executeRequest(httpUtils.createRequest(url, false, null));
@@ -0,0 +1,229 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.rest;
+
+import com.dnastack.bob.rest.util.QueryEntry;
+import com.dnastack.bob.service.dto.BeaconResponseMatrixTo;
+import com.dnastack.bob.service.dto.BeaconResponseRowTo;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.xml.bind.JAXBException;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.arquillian.test.api.ArquillianResource;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static com.dnastack.bob.rest.util.BeaconResponseTestUtils.queriesMatch;
+import static com.dnastack.bob.rest.util.DataProvider.getBeacons;
+import static com.dnastack.bob.rest.util.DataProvider.getQueries;
+import static com.dnastack.bob.service.util.Constants.BATCH_MAX_VARIANTS;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test of batch responses.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@RunWith(Arquillian.class)
+@RunAsClient
+public class BeaconBatchResponsesTest extends AbstractResponseTest {
+
+    private static final Logger logger = Logger.getLogger(BeaconBatchResponsesTest.class.getName());
+
+    private static HttpResponse postBatch(String url, String contentType, String body) throws IOException {
+        HttpPost request = new HttpPost(url);
+        request.setHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+        request.setEntity(new StringEntity(body, ContentType.create(contentType, StandardCharsets.UTF_8)));
+
+        return execute(request);
+    }
+
+    private static BeaconResponseMatrixTo readBatch(String url, String contentType, String body) throws IOException, JAXBException {
+        HttpResponse response = postBatch(url, contentType, body);
+        assertThat(response.getStatusLine().getStatusCode(), equalTo(200));
+
+        return (BeaconResponseMatrixTo) parseObject(BeaconResponseMatrixTo.class, EntityUtils.toString(response.getEntity()));
+    }
+
+    private static JSONObject toJson(QueryEntry q) {
+        JSONObject res = new JSONObject();
+        res.put("chrom", q.getChromosome());
+        res.put("pos", q.getPosition());
+        res.put("allele", q.getAllele());
+        if (q.getReference() != null) {
+            res.put("ref", q.getReference());
+        }
+
+        return res;
+    }
+
+    private static String toBob(QueryEntry q) {
+        String res = q.getChromosome() + "\t" + q.getPosition() + "\t" + q.getAllele();
+
+        return (q.getReference() == null) ? res : res + "\t" + q.getReference();
+    }
+
+    private static String toVcf(QueryEntry q) {
+        // reference bases of the same length make the alternate bases the allele, VCF positions are 1-based
+        StringBuilder ref = new StringBuilder();
+        for (int i = 0; i < q.getAllele().length(); i++) {
+            ref.append('N');
+        }
+
+        return q.getChromosome() + "\t" + (q.getPosition() + 1) + "\t.\t" + ref + "\t" + q.getAllele();
+    }
+
+    private void checkResponses(String beacon, List<QueryEntry> queries, BeaconResponseMatrixTo matrix) {
+        collector.checkThat(beacon, matrix.getBeacons().size(), equalTo(1));
+        collector.checkThat(beacon, matrix.getBeacons().get(0).getId(), equalTo(beacon));
+        collector.checkThat(beacon, matrix.getRows().size(), equalTo(queries.size()));
+
+        for (int i = 0; i < Math.min(queries.size(), matrix.getRows().size()); i++) {
+            QueryEntry query = queries.get(i);
+            BeaconResponseRowTo row = matrix.getRows().get(i);
+            logger.log(Level.INFO, String.format("Beacon: " + beacon + " - expected response: %s; actual response: %s", query.getResponse(), row.getResponses().get(0)));
+
+            collector.checkThat(query.toString(), queriesMatch(row.getQuery(), query), is(true));
+            collector.checkThat(query.toString(), row.getResponses().get(0), equalTo(query.getResponse()));
+        }
+    }
+
+    @Test
+    public void testJsonBatch(@ArquillianResource URL url) throws IOException, JAXBException {
+        for (String b : getBeacons()) {
+            List<QueryEntry> queries = new ArrayList<>(getQueries(b));
+            JSONArray body = new JSONArray();
+            for (QueryEntry q : queries) {
+                body.put(toJson(q));
+            }
+
+            logger.log(Level.INFO, String.format("Testing batch: %s", body));
+            checkResponses(b, queries, readBatch(url.toExternalForm() + String.format(QUERY_BATCH_FILTER_TEMPLATE, b), MediaType.APPLICATION_JSON, body.toString()));
+        }
+    }
+
+    @Test
+    public void testBobBatch(@ArquillianResource URL url) throws IOException, JAXBException {
+        for (String b : getBeacons()) {
+            List<QueryEntry> queries = new ArrayList<>(getQueries(b));
+            StringBuilder body = new StringBuilder("# chrom pos allele ref\n");
+            for (QueryEntry q : queries) {
+                body.append(toBob(q)).append('\n');
+            }
+
+            logger.log(Level.INFO, String.format("Testing batch: %s", body));
+            checkResponses(b, queries, readBatch(url.toExternalForm() + String.format(QUERY_BATCH_FILTER_TEMPLATE, b), MediaType.TEXT_PLAIN, body.toString()));
+        }
+    }
+
+    @Test
+    public void testVcfBatch(@ArquillianResource URL url) throws IOException, JAXBException {
+        for (String b : getBeacons()) {
+            // VCF lines carry neither a reference nor an indel allele of BoB
+            List<QueryEntry> queries = new ArrayList<>();
+            for (QueryEntry q : getQueries(b)) {
+                if (q.getReference() == null && !"D".equals(q.getAllele()) && !"I".equals(q.getAllele())) {
+                    queries.add(q);
+                }
+            }
+            if (queries.isEmpty()) {
+                continue;
+            }
+
+            StringBuilder body = new StringBuilder("##fileformat=VCFv4.1\n#CHROM\tPOS\tID\tREF\tALT\n");
+            for (QueryEntry q : queries) {
+                body.append(toVcf(q)).append('\n');
+            }
+
+            logger.log(Level.INFO, String.format("Testing batch: %s", body));
+            checkResponses(b, queries, readBatch(url.toExternalForm() + String.format(QUERY_BATCH_FILTER_TEMPLATE, b), MediaType.TEXT_PLAIN, body.toString()));
+        }
+    }
+
+    @Test
+    public void testInvalidVariantUnanswered(@ArquillianResource URL url) throws IOException, JAXBException {
+        QueryEntry q = getQueries().get(0);
+        QueryEntry invalid = new QueryEntry(q);
+        invalid.setChromosome("invalid");
+        JSONArray body = new JSONArray();
+        body.put(toJson(invalid));
+        body.put(toJson(q));
+
+        BeaconResponseMatrixTo matrix = readBatch(url.toExternalForm() + String.format(QUERY_BATCH_FILTER_TEMPLATE, q.getBeacon()), MediaType.APPLICATION_JSON, body.toString());
+
+        assertThat(matrix.getRows().size(), equalTo(2));
+        assertThat(matrix.getRows().get(0).getResponses().get(0), nullValue());
+        assertThat(matrix.getRows().get(1).getResponses().get(0), equalTo(q.getResponse()));
+    }
+
+    @Test
+    public void testTooManyVariants(@ArquillianResource URL url) throws IOException {
+        JSONArray body = new JSONArray();
+        JSONObject v = toJson(getQueries().get(0));
+        for (int i = 0; i <= BATCH_MAX_VARIANTS; i++) {
+            body.put(v);
+        }
+
+        HttpResponse response = postBatch(url.toExternalForm() + QUERY_BATCH_TEMPLATE, MediaType.APPLICATION_JSON, body.toString());
+
+        assertThat(response.getStatusLine().getStatusCode(), equalTo(400));
+        assertThat(EntityUtils.toString(response.getEntity()), containsString(String.valueOf(BATCH_MAX_VARIANTS)));
+    }
+
+    @Test
+    public void testInvalidPosition(@ArquillianResource URL url) throws IOException {
+        HttpResponse response = postBatch(url.toExternalForm() + QUERY_BATCH_TEMPLATE, MediaType.TEXT_PLAIN, "15\tposition\tA\n");
+
+        assertThat(response.getStatusLine().getStatusCode(), equalTo(400));
+        assertThat(EntityUtils.toString(response.getEntity()), containsString("Invalid position"));
+    }
+
+    @Test
+    public void testInvalidLine(@ArquillianResource URL url) throws IOException {
+        HttpResponse response = postBatch(url.toExternalForm() + QUERY_BATCH_TEMPLATE, MediaType.TEXT_PLAIN, "15\t41087869\n");
+
+        assertThat(response.getStatusLine().getStatusCode(), equalTo(400));
+        assertThat(EntityUtils.toString(response.getEntity()), containsString("Invalid variant"));
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.rest;
+
+import com.dnastack.bob.rest.util.QueryEntry;
+import com.dnastack.bob.service.dto.BeaconResponseSummaryTo;
+import com.dnastack.bob.service.dto.BeaconResponseTo;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.ws.rs.core.HttpHeaders;
+import javax.xml.bind.JAXBException;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.junit.Arquillian;
+import org.jboss.arquillian.test.api.ArquillianResource;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static com.dnastack.bob.rest.util.BeaconResponseTestUtils.queriesMatch;
+import static com.dnastack.bob.rest.util.DataProvider.getBeacons;
+import static com.dnastack.bob.rest.util.DataProvider.getQueries;
+import static com.dnastack.bob.rest.util.ServerSentEventWriter.SERVER_SENT_EVENTS;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.everyItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.isIn;
+
+/**
+ * Test of streamed responses.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@RunWith(Arquillian.class)
+@RunAsClient
+public class BeaconStreamResponsesTest extends AbstractResponseTest {
+
+    private static final Logger logger = Logger.getLogger(BeaconStreamResponsesTest.class.getName());
+
+    private static final String EVENT = "event: ";
+    private static final String DATA = "data: ";
+
+    private static String getStreamUrl(QueryEntry q) {
+        String res;
+        if (q.getBeacon() == null || q.getBeacon().isEmpty()) {
+            res = String.format(QUERY_STREAM_TEMPLATE, q.getChromosome(), q.getPosition(), q.getAllele());
+        } else {
+            res = String.format(QUERY_STREAM_FILTER_TEMPLATE, q.getBeacon(), q.getChromosome(), q.getPosition(), q.getAllele());
+        }
+
+        return (q.getReference() == null) ? res : res + "&ref=" + q.getReference();
+    }
+
+    private static HttpResponse readStream(String url) throws IOException {
+        HttpGet request = new HttpGet(url);
+        request.setHeader(HttpHeaders.ACCEPT, SERVER_SENT_EVENTS);
+
+        return execute(request);
+    }
+
+    private static List<String[]> readEvents(String stream) {
+        // every event is a pair of its name and data
+        List<String[]> res = new ArrayList<>();
+        for (String e : stream.split("\n\n")) {
+            if (e.isEmpty()) {
+                continue;
+            }
+
+            String[] lines = e.split("\n");
+            assertThat(e, lines.length, equalTo(2));
+            assertThat(e, lines[0], startsWith(EVENT));
+            assertThat(e, lines[1], startsWith(DATA));
+            res.add(new String[]{lines[0].substring(EVENT.length()), lines[1].substring(DATA.length())});
+        }
+
+        return res;
+    }
+
+    @Test
+    public void testStreamFraming(@ArquillianResource URL url) throws IOException {
+        QueryEntry q = new QueryEntry(getQueries().get(0));
+        q.setBeacon(null);
+        HttpResponse response = readStream(url.toExternalForm() + getStreamUrl(q));
+
+        assertThat(response.getStatusLine().getStatusCode(), equalTo(200));
+        assertThat(response.getFirstHeader(HttpHeaders.CONTENT_TYPE).getValue(), startsWith(SERVER_SENT_EVENTS));
+        assertThat(response.getFirstHeader(HttpHeaders.CACHE_CONTROL).getValue(), equalTo("no-cache"));
+
+        String stream = EntityUtils.toString(response.getEntity());
+        assertThat(stream.endsWith("\n\n"), is(true));
+
+        // a response per beacon, then the summary
+        List<String[]> events = readEvents(stream);
+        assertThat(events.isEmpty(), is(false));
+        for (int i = 0; i < events.size() - 1; i++) {
+            assertThat(events.get(i)[0], equalTo("response"));
+        }
+        assertThat(events.get(events.size() - 1)[0], equalTo("summary"));
+    }
+
+    @Test
+    public void testStreamAllResponses(@ArquillianResource URL url) throws IOException, JAXBException {
+        QueryEntry q = new QueryEntry(getQueries().get(0));
+        q.setBeacon(null);
+        List<String[]> events = readEvents(EntityUtils.toString(readStream(url.toExternalForm() + getStreamUrl(q)).getEntity()));
+
+        Set<String> ids = new HashSet<>();
+        int found = 0;
+        int notFound = 0;
+        int unanswered = 0;
+        for (String[] e : events.subList(0, events.size() - 1)) {
+            BeaconResponseTo br = (BeaconResponseTo) parseObject(BeaconResponseTo.class, e[1]);
+            ids.add(br.getBeacon().getId());
+            assertThat(queriesMatch(br.getQuery(), q), is(true));
+            if (br.getResponse() == null) {
+                unanswered++;
+            } else if (br.getResponse()) {
+                found++;
+            } else {
+                notFound++;
+            }
+        }
+        assertThat(getBeacons(), everyItem(isIn(ids)));
+        assertThat(ids.size(), equalTo(events.size() - 1));
+
+        BeaconResponseSummaryTo summary = (BeaconResponseSummaryTo) parseObject(BeaconResponseSummaryTo.class, events.get(events.size() - 1)[1]);
+        assertThat(summary.getBeacons(), equalTo(ids.size()));
+        assertThat(summary.getFound(), equalTo(found));
+        assertThat(summary.getNotFound(), equalTo(notFound));
+        assertThat(summary.getUnanswered(), equalTo(unanswered));
+        assertThat(queriesMatch(summary.getQuery(), q), is(true));
+    }
+
+    @Test
+    public void testStreamFiltered(@ArquillianResource URL url) throws IOException, JAXBException {
+        for (String b : getBeacons()) {
+            QueryEntry query = (QueryEntry) getQueries(b).toArray()[0];
+
+            logger.log(Level.INFO, String.format("Testing query: %s", query));
+            List<String[]> events = readEvents(EntityUtils.toString(readStream(url.toExternalForm() + getStreamUrl(query)).getEntity()));
+            collector.checkThat(query.toString(), events.size(), equalTo(2));
+            if (events.size() != 2) {
+                continue;
+            }
+
+            BeaconResponseTo br = (BeaconResponseTo) parseObject(BeaconResponseTo.class, events.get(0)[1]);
+            logger.log(Level.INFO, String.format("Beacon: " + query.getBeacon() + " - expected response: %s; actual response: %s", query.getResponse(), br.getResponse()));
+
+            collector.checkThat(query.toString(), br.getBeacon().getId(), equalTo(b));
+            collector.checkThat(query.toString(), br.getResponse(), equalTo(query.getResponse()));
+            collector.checkThat(query.toString(), events.get(1)[0], equalTo("summary"));
+        }
+    }
+}
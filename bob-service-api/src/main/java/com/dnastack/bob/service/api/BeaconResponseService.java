@@ -23,8 +23,11 @@
  */
 package com.dnastack.bob.service.api;
 
+import com.dnastack.bob.service.dto.BeaconResponseMatrixTo;
 import com.dnastack.bob.service.dto.BeaconResponseTo;
+import com.dnastack.bob.service.dto.VariantTo;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Service for managing beacon responses.
@@ -42,11 +45,12 @@ public interface BeaconResponseService {
      * @param pos      position
      * @param allele   allele
      * @param ref      reference genome (optional)
+     * @param deadline time by which the query has to be answered
      *
      * @return list of beacon responses
      * @throws java.lang.ClassNotFoundException
      */
-    BeaconResponseTo queryBeacon(String beaconId, String chrom, Long pos, String allele, String ref) throws ClassNotFoundException;
+    BeaconResponseTo queryBeacon(String beaconId, String chrom, Long pos, String allele, String ref, Deadline deadline) throws ClassNotFoundException;
 
     /**
      * Query specified beacons.
@@ -56,23 +60,53 @@ public interface BeaconResponseService {
      * @param pos       position
      * @param allele    allele
      * @param ref       reference genome (optional)
+     * @param deadline  time by which the query has to be answered
      *
      * @return collection of beacon responses
      * @throws java.lang.ClassNotFoundException
      */
-    Collection<BeaconResponseTo> queryBeacons(Collection<String> beaconIds, String chrom, Long pos, String allele, String ref) throws ClassNotFoundException;
+    Collection<BeaconResponseTo> queryBeacons(Collection<String> beaconIds, String chrom, Long pos, String allele, String ref, Deadline deadline) throws ClassNotFoundException;
 
     /**
      * Query all the beacons.
      *
-     * @param chrom  chromosome
-     * @param pos    position
-     * @param allele allele
-     * @param ref    reference genome (optional)
+     * @param chrom    chromosome
+     * @param pos      position
+     * @param allele   allele
+     * @param ref      reference genome (optional)
+     * @param deadline time by which the query has to be answered
      *
      * @return collection of beacon responses
      * @throws java.lang.ClassNotFoundException
      */
-    Collection<BeaconResponseTo> queryAll(String chrom, Long pos, String allele, String ref) throws ClassNotFoundException;
+    Collection<BeaconResponseTo> queryAll(String chrom, Long pos, String allele, String ref, Deadline deadline) throws ClassNotFoundException;
+
+    /**
+     * Query specified beacons and deliver their responses in the order they resolve. Returns after all the beacons
+     * have been delivered to the listener.
+     *
+     * @param beaconIds collection of beacon IDs, all the beacons if null
+     * @param chrom     chromosome
+     * @param pos       position
+     * @param allele    allele
+     * @param ref       genome
+     * @param deadline  time by which the query has to be answered
+     * @param listener  receiver of the responses
+     *
+     * @throws java.lang.ClassNotFoundException
+     */
+    void queryStream(Collection<String> beaconIds, String chrom, Long pos, String allele, String ref, Deadline deadline, BeaconResponseListener listener) throws ClassNotFoundException;
+
+    /**
+     * Query specified beacons with a batch of variants. Variants normalizing to the same query are queried only once.
+     *
+     * @param beaconIds collection of beacon IDs, all the beacons if null
+     * @param variants  variants
+     * @param deadline  time by which the queries have to be answered
+     *
+     * @return responses of the beacons to each of the variants
+     * @throws java.lang.ClassNotFoundException
+     */
+    BeaconResponseMatrixTo queryBatch(Collection<String> beaconIds, List<VariantTo> variants, Deadline deadline) throws ClassNotFoundException;
 
 }
@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 Miroslav Cupak (mirocupak@gmail.com).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.api;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which a request has to be answered. Created once per request and passed down to all the stages
+ * processing it, so that every wait uses only what is left of the overall time budget.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class Deadline implements Serializable {
+
+    private static final long serialVersionUID = 8813400592166473154L;
+
+    private final long expiresAt;
+
+    private Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Creates a deadline expiring after the given amount of time from now.
+     *
+     * @param timeout time budget
+     * @param unit    time unit of the budget
+     *
+     * @return deadline
+     */
+    public static Deadline after(long timeout, TimeUnit unit) {
+        return new Deadline(System.nanoTime() + unit.toNanos(Math.max(timeout, 0)));
+    }
+
+    /**
+     * Creates a deadline from a timeout requested by a client, capped by the server maximum.
+     *
+     * @param timeout requested timeout in milliseconds (optional)
+     * @param max     max timeout in milliseconds, also used when no timeout is requested
+     *
+     * @return deadline
+     */
+    public static Deadline of(Long timeout, long max) {
+        return after((timeout == null || timeout > max) ? max : timeout, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Narrows the deadline to at most the given amount of time from now.
+     *
+     * @param timeout time budget
+     * @param unit    time unit of the budget
+     *
+     * @return this deadline or an earlier one
+     */
+    public Deadline limit(long timeout, TimeUnit unit) {
+        Deadline d = after(timeout, unit);
+
+        return (d.expiresAt - expiresAt < 0) ? d : this;
+    }
+
+    /**
+     * Computes the time left until the deadline.
+     *
+     * @param unit time unit
+     *
+     * @return remaining time, 0 if the deadline has passed
+     */
+    public long getRemaining(TimeUnit unit) {
+        return unit.convert(Math.max(expiresAt - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Checks whether the deadline has passed.
+     *
+     * @return true/false
+     */
+    public boolean isExpired() {
+        return expiresAt - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline{" + "remaining=" + getRemaining(TimeUnit.MILLISECONDS) + "ms}";
+    }
+
+}
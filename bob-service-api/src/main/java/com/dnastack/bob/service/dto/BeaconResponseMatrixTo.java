@@ -0,0 +1,75 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * DTO for the responses to a batch of queries. Each row holds the responses to one query of the batch (in the order
+ * of submission), the i-th response of a row being the response of the i-th beacon.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@XmlRootElement(name = "beacon-response-matrix")
+public class BeaconResponseMatrixTo implements Serializable {
+
+    private static final long serialVersionUID = 64L;
+
+    private List<BeaconTo> beacons;
+    private List<BeaconResponseRowTo> rows;
+
+    public BeaconResponseMatrixTo() {
+        // needed for JAXB
+    }
+
+    public BeaconResponseMatrixTo(List<BeaconTo> beacons, List<BeaconResponseRowTo> rows) {
+        this.beacons = beacons;
+        this.rows = rows;
+    }
+
+    public List<BeaconTo> getBeacons() {
+        return beacons;
+    }
+
+    public void setBeacons(List<BeaconTo> beacons) {
+        this.beacons = beacons;
+    }
+
+    public List<BeaconResponseRowTo> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<BeaconResponseRowTo> rows) {
+        this.rows = rows;
+    }
+
+    @Override
+    public String toString() {
+        return "BeaconResponseMatrix{" + "beacons=" + beacons + ", rows=" + rows + '}';
+    }
+
+}
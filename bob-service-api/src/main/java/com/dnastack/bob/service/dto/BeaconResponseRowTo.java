@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * DTO for the responses of all the queried beacons to a single query of a batch.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@XmlRootElement(name = "row")
+public class BeaconResponseRowTo implements Serializable {
+
+    private static final long serialVersionUID = 65L;
+
+    private QueryTo query;
+    private List<Boolean> responses;
+
+    public BeaconResponseRowTo() {
+        // needed for JAXB
+    }
+
+    public BeaconResponseRowTo(QueryTo query, List<Boolean> responses) {
+        this.query = query;
+        this.responses = responses;
+    }
+
+    public QueryTo getQuery() {
+        return query;
+    }
+
+    public void setQuery(QueryTo query) {
+        this.query = query;
+    }
+
+    public List<Boolean> getResponses() {
+        return responses;
+    }
+
+    public void setResponses(List<Boolean> responses) {
+        this.responses = responses;
+    }
+
+    @Override
+    public String toString() {
+        return "BeaconResponseRow{" + "query=" + query + ", responses=" + responses + '}';
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.dto;
+
+import java.io.Serializable;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * DTO summarizing the responses of multiple beacons to a query.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@XmlRootElement(name = "beacon-response-summary")
+public class BeaconResponseSummaryTo implements Serializable {
+
+    private static final long serialVersionUID = 66L;
+
+    private QueryTo query;
+    private int beacons;
+    private int found;
+    private int notFound;
+    private int unanswered;
+    private long elapsed;
+
+    public BeaconResponseSummaryTo() {
+        // needed for JAXB
+    }
+
+    public BeaconResponseSummaryTo(QueryTo query, int beacons, int found, int notFound, int unanswered, long elapsed) {
+        this.query = query;
+        this.beacons = beacons;
+        this.found = found;
+        this.notFound = notFound;
+        this.unanswered = unanswered;
+        this.elapsed = elapsed;
+    }
+
+    public QueryTo getQuery() {
+        return query;
+    }
+
+    public void setQuery(QueryTo query) {
+        this.query = query;
+    }
+
+    public int getBeacons() {
+        return beacons;
+    }
+
+    public void setBeacons(int beacons) {
+        this.beacons = beacons;
+    }
+
+    public int getFound() {
+        return found;
+    }
+
+    public void setFound(int found) {
+        this.found = found;
+    }
+
+    public int getNotFound() {
+        return notFound;
+    }
+
+    public void setNotFound(int notFound) {
+        this.notFound = notFound;
+    }
+
+    public int getUnanswered() {
+        return unanswered;
+    }
+
+    public void setUnanswered(int unanswered) {
+        this.unanswered = unanswered;
+    }
+
+    public long getElapsed() {
+        return elapsed;
+    }
+
+    public void setElapsed(long elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return "BeaconResponseSummary{" + "query=" + query + ", beacons=" + beacons + ", found=" + found + ", notFound=" + notFound + ", unanswered=" + unanswered + ", elapsed=" + elapsed + '}';
+    }
+
+}
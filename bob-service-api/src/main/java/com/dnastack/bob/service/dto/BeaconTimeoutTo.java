@@ -0,0 +1,116 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * DTO for the effective timeout of a beacon derived from its observed latencies.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@XmlRootElement(name = "timeout")
+public class BeaconTimeoutTo implements Serializable {
+
+    private static final long serialVersionUID = 67L;
+
+    private String beacon;
+    private long samples;
+    private Long percentile;
+    private long timeout;
+
+    public BeaconTimeoutTo() {
+        // needed for JAXB
+    }
+
+    public BeaconTimeoutTo(String beacon, long samples, Long percentile, long timeout) {
+        this.beacon = beacon;
+        this.samples = samples;
+        this.percentile = percentile;
+        this.timeout = timeout;
+    }
+
+    public String getBeacon() {
+        return beacon;
+    }
+
+    public void setBeacon(String beacon) {
+        this.beacon = beacon;
+    }
+
+    public long getSamples() {
+        return samples;
+    }
+
+    public void setSamples(long samples) {
+        this.samples = samples;
+    }
+
+    public Long getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(Long percentile) {
+        this.percentile = percentile;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 59 * hash + Objects.hashCode(this.beacon);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final BeaconTimeoutTo other = (BeaconTimeoutTo) obj;
+        if (!Objects.equals(this.beacon, other.beacon)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "BeaconTimeout{" + "beacon=" + beacon + ", samples=" + samples + ", percentile=" + percentile + ", timeout=" + timeout + '}';
+    }
+
+}
@@ -42,6 +42,7 @@ public class BeaconTo implements Serializable {
     private String name;
     private String organization;
     private boolean aggregator;
+    private BreakerStateTo breakerState;
 
     public BeaconTo() {
         // needed for JAXB
@@ -86,6 +87,14 @@ public class BeaconTo implements Serializable {
         this.aggregator = aggregator;
     }
 
+    public BreakerStateTo getBreakerState() {
+        return breakerState;
+    }
+
+    public void setBreakerState(BreakerStateTo breakerState) {
+        this.breakerState = breakerState;
+    }
+
     @Override
     public int hashCode() {
         int hash = 5;
@@ -122,7 +131,7 @@ public class BeaconTo implements Serializable {
 
     @Override
     public String toString() {
-        return "BeaconTo{" + "id=" + id + ", name=" + name + ", organization=" + organization + ", aggregator=" + aggregator + '}';
+        return "BeaconTo{" + "id=" + id + ", name=" + name + ", organization=" + organization + ", aggregator=" + aggregator + ", breakerState=" + breakerState + '}';
     }
 
 }
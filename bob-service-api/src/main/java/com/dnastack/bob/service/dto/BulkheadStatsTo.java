@@ -0,0 +1,146 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Beacon bulkhead statistics DTO.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@XmlRootElement(name = "bulkhead")
+public class BulkheadStatsTo implements Serializable {
+
+    private static final long serialVersionUID = 68L;
+
+    private String beacon;
+    private int inFlight;
+    private int queued;
+    private int maxConcurrent;
+    private int maxQueued;
+    private long admitted;
+    private long rejected;
+
+    public BulkheadStatsTo() {
+        // needed for JAXB
+    }
+
+    public BulkheadStatsTo(String beacon, int inFlight, int queued, int maxConcurrent, int maxQueued, long admitted, long rejected) {
+        this.beacon = beacon;
+        this.inFlight = inFlight;
+        this.queued = queued;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.admitted = admitted;
+        this.rejected = rejected;
+    }
+
+    public String getBeacon() {
+        return beacon;
+    }
+
+    public void setBeacon(String beacon) {
+        this.beacon = beacon;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public void setQueued(int queued) {
+        this.queued = queued;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public void setMaxQueued(int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+
+    public long getAdmitted() {
+        return admitted;
+    }
+
+    public void setAdmitted(long admitted) {
+        this.admitted = admitted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 59 * hash + Objects.hashCode(this.beacon);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final BulkheadStatsTo other = (BulkheadStatsTo) obj;
+        if (!Objects.equals(this.beacon, other.beacon)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "Bulkhead{" + "beacon=" + beacon + ", inFlight=" + inFlight + ", queued=" + queued + ", maxConcurrent=" + maxConcurrent + ", maxQueued=" + maxQueued + ", admitted=" + admitted + ", rejected=" + rejected + '}';
+    }
+
+}
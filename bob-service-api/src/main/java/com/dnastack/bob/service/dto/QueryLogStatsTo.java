@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.dto;
+
+import java.io.Serializable;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Query audit log statistics DTO.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@XmlRootElement(name = "queryLog")
+public class QueryLogStatsTo implements Serializable {
+
+    private static final long serialVersionUID = 69L;
+
+    private int buffered;
+    private long logged;
+    private long dropped;
+    private long written;
+    private long failed;
+
+    public QueryLogStatsTo() {
+        // needed for JAXB
+    }
+
+    public QueryLogStatsTo(int buffered, long logged, long dropped, long written, long failed) {
+        this.buffered = buffered;
+        this.logged = logged;
+        this.dropped = dropped;
+        this.written = written;
+        this.failed = failed;
+    }
+
+    public int getBuffered() {
+        return buffered;
+    }
+
+    public void setBuffered(int buffered) {
+        this.buffered = buffered;
+    }
+
+    public long getLogged() {
+        return logged;
+    }
+
+    public void setLogged(long logged) {
+        this.logged = logged;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(long dropped) {
+        this.dropped = dropped;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public void setWritten(long written) {
+        this.written = written;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryLogStats{" + "buffered=" + buffered + ", logged=" + logged + ", dropped=" + dropped + ", written=" + written + ", failed=" + failed + '}';
+    }
+
+}
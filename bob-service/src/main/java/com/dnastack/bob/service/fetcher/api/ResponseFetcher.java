@@ -23,8 +23,11 @@
  */
 package com.dnastack.bob.service.fetcher.api;
 
+import com.dnastack.bob.service.api.Deadline;
+import java.io.UnsupportedEncodingException;
 import java.util.Map;
 import java.util.concurrent.Future;
+import org.apache.http.client.methods.HttpRequestBase;
 
 /**
  * Beacon response fetcher.
@@ -37,11 +40,24 @@ public interface ResponseFetcher {
     /**
      * Asynchronously obtains raw response to the query from the beacon.
      *
+     * @param url      query URL
+     * @param payload  request data (for POST)
+     * @param deadline time by which the response has to be obtained
+     *
+     * @return raw result of the query from the beacon
+     */
+    Future<String> getQueryResponse(String url, Map<String, String> payload, Deadline deadline);
+
+    /**
+     * Creates the request this fetcher would execute, without executing it.
+     *
      * @param url     query URL
      * @param payload request data (for POST)
      *
-     * @return raw result of the query from the beacon
+     * @return request
+     *
+     * @throws UnsupportedEncodingException
      */
-    Future<String> getQueryResponse(String url, Map<String, String> payload);
+    HttpRequestBase createRequest(String url, Map<String, String> payload) throws UnsupportedEncodingException;
 
 }
@@ -23,6 +23,7 @@
  */
 package com.dnastack.bob.service.fetcher.impl;
 
+import com.dnastack.bob.service.api.Deadline;
 import com.dnastack.bob.service.fetcher.api.ResponseFetcher;
 import com.dnastack.bob.service.fetcher.util.HttpUtils;
 import java.io.Serializable;
@@ -55,14 +56,20 @@ public class GetResponseFetcher implements ResponseFetcher, Serializable {
     @Inject
     private HttpUtils httpUtils;
 
+    @Override
+    public HttpRequestBase createRequest(String url, Map<String, String> payload) throws UnsupportedEncodingException {
+        HttpRequestBase request = httpUtils.createRequest(url, false, null);
+        request.setHeader("Accept", "application/json, text/plain");
+
+        return request;
+    }
+
     @Override
     @Asynchronous
-    public Future<String> getQueryResponse(String url, Map<String, String> payload) {
+    public Future<String> getQueryResponse(String url, Map<String, String> payload, Deadline deadline) {
         String res = null;
         try {
-            HttpRequestBase request = httpUtils.createRequest(url, false, null);
-            request.setHeader("Accept", "application/json, text/plain");
-            res = httpUtils.executeRequest(request);
+            res = httpUtils.executeRequest(createRequest(url, payload), deadline);
         } catch (UnsupportedEncodingException ex) {
             // ignore, already null
         }
@@ -23,6 +23,7 @@
  */
 package com.dnastack.bob.service.fetcher.impl;
 
+import com.dnastack.bob.service.api.Deadline;
 import com.dnastack.bob.service.fetcher.api.ResponseFetcher;
 import com.dnastack.bob.service.fetcher.util.HttpUtils;
 import java.io.Serializable;
@@ -40,6 +41,7 @@ import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 import javax.inject.Named;
 import org.apache.http.NameValuePair;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.message.BasicNameValuePair;
 
 /**
@@ -69,12 +71,17 @@ public class PostResponseFetcher implements ResponseFetcher, Serializable {
         return nvs;
     }
 
+    @Override
+    public HttpRequestBase createRequest(String url, Map<String, String> payload) throws UnsupportedEncodingException {
+        return httpUtils.createRequest(url, true, getQueryPayload(payload));
+    }
+
     @Override
     @Asynchronous
-    public Future<String> getQueryResponse(String url, Map<String, String> payload) {
+    public Future<String> getQueryResponse(String url, Map<String, String> payload, Deadline deadline) {
         String res = null;
         try {
-            res = httpUtils.executeRequest(httpUtils.createRequest(url, true, getQueryPayload(payload)));
+            res = httpUtils.executeRequest(createRequest(url, payload), deadline);
         } catch (UnsupportedEncodingException ex) {
             // ignore, already null
         }
@@ -0,0 +1,158 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 Miroslav Cupak (mirocupak@gmail.com).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.fetcher.util;
+
+import com.dnastack.bob.service.api.Deadline;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.jboss.logging.Logger;
+
+import static com.dnastack.bob.service.util.Constants.HTTP_MAX_CONNECTIONS;
+import static com.dnastack.bob.service.util.Constants.HTTP_MAX_CONNECTIONS_PER_HOST;
+import static com.dnastack.bob.service.util.Constants.REQUEST_TIMEOUT;
+
+/**
+ * Util methods for querying over HTTP without blocking a thread per request. All the requests share a single pool of
+ * I/O dispatcher threads.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class AsyncHttpUtils {
+
+    @Inject
+    private Logger logger;
+
+    private CloseableHttpAsyncClient httpClient;
+    private RequestConfig config;
+
+    @PostConstruct
+    private void init() {
+        config = RequestConfig.custom().setSocketTimeout(REQUEST_TIMEOUT * 1000).setConnectTimeout(REQUEST_TIMEOUT * 1000).setConnectionRequestTimeout(REQUEST_TIMEOUT * 1000).build();
+        IOReactorConfig ioConfig = IOReactorConfig.custom().setIoThreadCount(Runtime.getRuntime().availableProcessors()).build();
+        httpClient = HttpAsyncClients.custom().setDefaultRequestConfig(config).setDefaultIOReactorConfig(ioConfig).setMaxConnTotal(HTTP_MAX_CONNECTIONS).setMaxConnPerRoute(HTTP_MAX_CONNECTIONS_PER_HOST).setKeepAliveStrategy(new BoundedKeepAliveStrategy()).build();
+        httpClient.start();
+    }
+
+    private void setTimeouts(HttpRequestBase request, Deadline deadline) {
+        int remaining = (int) Math.max(deadline.getRemaining(TimeUnit.MILLISECONDS), 1);
+        request.setConfig(RequestConfig.copy(config).setSocketTimeout(remaining).setConnectTimeout(remaining).setConnectionRequestTimeout(remaining).build());
+    }
+
+    @PreDestroy
+    private void close() {
+        if (httpClient != null) {
+            try {
+                httpClient.close();
+            } catch (IOException ex) {
+                logger.error(ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Executes GET/POST asynchronously. The returned future completes on an I/O dispatcher thread, so any callbacks
+     * attached to it with a direct executor must not block. Cancelling the future aborts the request.
+     *
+     * @param request  request
+     * @param deadline time by which the response has to be obtained
+     *
+     * @return response (null if the request failed or could not be completed in time)
+     */
+    public ListenableFuture<String> executeRequest(HttpRequestBase request, Deadline deadline) {
+        return executeRequest(request, deadline, -1);
+    }
+
+    /**
+     * Executes GET/POST asynchronously, reading only the beginning of the response. The connection is closed once the
+     * limit is read, so the rest of the response is not downloaded. The returned future completes on an I/O dispatcher
+     * thread, so any callbacks attached to it with a direct executor must not block. Cancelling the future aborts the
+     * request.
+     *
+     * @param request  request
+     * @param deadline time by which the response has to be obtained
+     * @param limit    number of bytes of the response to read, negative to read all of it
+     *
+     * @return response (its first limit bytes, null if the request failed or could not be completed in time)
+     */
+    public ListenableFuture<String> executeRequest(HttpRequestBase request, Deadline deadline, int limit) {
+        final SettableFuture<String> response = SettableFuture.create();
+        if (deadline.isExpired()) {
+            response.set(null);
+            return response;
+        }
+        setTimeouts(request, deadline);
+
+        final Future<String> f = httpClient.execute(HttpAsyncMethods.create(request), new BoundedResponseConsumer(limit, response), new FutureCallback<String>() {
+
+            @Override
+            public void completed(String result) {
+                response.set(result);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                // the connection closed after reading the limit fails the exchange as well
+                if (response.set(null)) {
+                    logger.error(ex.getMessage());
+                }
+            }
+
+            @Override
+            public void cancelled() {
+                response.set(null);
+            }
+        });
+
+        response.addListener(new Runnable() {
+
+            @Override
+            public void run() {
+                if (response.isCancelled()) {
+                    f.cancel(true);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+
+        return response;
+    }
+}
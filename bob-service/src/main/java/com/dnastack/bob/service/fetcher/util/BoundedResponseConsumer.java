@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.fetcher.util;
+
+import com.google.common.util.concurrent.SettableFuture;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import org.apache.http.Consts;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * Consumer of a non-blocking response reading at most the given number of bytes of the body. Once the limit is read,
+ * the response is completed with them and the connection is closed, so the rest of the body is not downloaded.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class BoundedResponseConsumer extends AbstractAsyncResponseConsumer<String> {
+
+    private final int limit;
+    private final SettableFuture<String> response;
+    private final ByteBuffer chunk = ByteBuffer.allocate(4096);
+    private ByteArrayOutputStream body;
+    private Charset charset;
+
+    /**
+     * Creates a consumer.
+     *
+     * @param limit    number of bytes of the response to read, negative to read all of it
+     * @param response future completed as soon as the limit is read
+     */
+    public BoundedResponseConsumer(int limit, SettableFuture<String> response) {
+        this.limit = limit;
+        this.response = response;
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse r) {
+        // only the body is of interest
+    }
+
+    @Override
+    protected void onEntityEnclosed(HttpEntity entity, ContentType type) {
+        charset = (type == null || type.getCharset() == null) ? Consts.ISO_8859_1 : type.getCharset();
+        long length = entity.getContentLength();
+        int size = (length < 0 || length > Integer.MAX_VALUE) ? chunk.capacity() : (int) length;
+        body = new ByteArrayOutputStream((limit < 0) ? size : Math.min(size, limit));
+    }
+
+    @Override
+    protected void onContentReceived(ContentDecoder decoder, IOControl control) throws IOException {
+        if (response.isDone()) {
+            // limit already read, the connection is being closed
+            return;
+        }
+        int n;
+        while ((n = decoder.read(chunk)) > 0) {
+            int take = (limit < 0) ? n : Math.min(n, limit - body.size());
+            body.write(chunk.array(), 0, take);
+            chunk.clear();
+            if (limit >= 0 && body.size() >= limit) {
+                response.set(getText());
+                control.shutdown();
+                return;
+            }
+        }
+        chunk.clear();
+    }
+
+    @Override
+    protected String buildResult(HttpContext context) {
+        return getText();
+    }
+
+    @Override
+    protected void releaseResources() {
+        body = null;
+    }
+
+    private String getText() {
+        return (body == null) ? null : new String(body.toByteArray(), charset);
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.fetcher.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedThreadFactory;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Named;
+
+import static com.dnastack.bob.service.util.Constants.FETCH_KEEP_ALIVE;
+import static com.dnastack.bob.service.util.Constants.FETCH_THREADS;
+
+/**
+ * Bounded pool of threads executing blocking requests to beacons. The threads come from the container's managed thread
+ * factory, but the pool is separate from the default managed executor: threads of that executor wait for queries (e.g.
+ * when adapting EJB futures), and if the requests of those queries queued behind them, no query would complete before
+ * its deadline.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class FetchExecutor implements Executor {
+
+    @Resource
+    private ManagedThreadFactory threadFactory;
+
+    private ThreadPoolExecutor pool;
+
+    @PostConstruct
+    private synchronized void init() {
+        if (pool != null) {
+            return;
+        }
+
+        // no managed thread factory when created outside of the container
+        pool = new ThreadPoolExecutor(FETCH_THREADS, FETCH_THREADS, FETCH_KEEP_ALIVE, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), (threadFactory == null) ? Executors.defaultThreadFactory() : threadFactory);
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    private void close() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (pool == null) {
+            init();
+        }
+        pool.execute(command);
+    }
+
+}
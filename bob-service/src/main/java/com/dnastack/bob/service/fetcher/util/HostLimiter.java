@@ -0,0 +1,153 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.fetcher.util;
+
+import com.dnastack.bob.service.api.Deadline;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Named;
+
+import static com.dnastack.bob.service.util.Constants.THREAD_PER_REQUEST_MAX_PER_HOST;
+import static com.dnastack.bob.service.util.Constants.THREAD_PER_REQUEST_MAX_PER_HOST_PREFIX;
+import static com.dnastack.bob.service.util.Constants.THREAD_PER_REQUEST_MAX_QUEUED_PER_HOST;
+
+/**
+ * Limits the number of requests executed concurrently against a beacon host. Requests over the limit wait in a bounded
+ * queue for a permit, without holding a thread; requests beyond the queue, or still waiting when their deadline
+ * passes, are refused.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class HostLimiter {
+
+    private final ConcurrentMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+    private static class Waiter {
+
+        private final SettableFuture<Boolean> permit = SettableFuture.create();
+        private final Deadline deadline;
+
+        Waiter(Deadline deadline) {
+            this.deadline = deadline;
+        }
+    }
+
+    private static class Host {
+
+        private final int maxConcurrent;
+        private final Queue<Waiter> waiting = new ArrayDeque<>();
+        private int inFlight = 0;
+
+        Host(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+    }
+
+    private Host getHost(String host) {
+        Host h = hosts.get(host);
+        if (h == null) {
+            Host n = new Host(Math.max(Integer.getInteger(THREAD_PER_REQUEST_MAX_PER_HOST_PREFIX + host, THREAD_PER_REQUEST_MAX_PER_HOST), 1));
+            h = hosts.putIfAbsent(host, n);
+            if (h == null) {
+                h = n;
+            }
+        }
+
+        return h;
+    }
+
+    /**
+     * Asks for a permit to execute a request against a host. Every granted permit has to be {@link #release(String)
+     * released}. Cancelling a request still waiting for a permit gives up its place in the queue.
+     *
+     * @param host     host
+     * @param deadline time by which the permit has to be obtained
+     *
+     * @return true once the permit is granted, false if the request is refused
+     */
+    public ListenableFuture<Boolean> acquire(String host, Deadline deadline) {
+        final Host h = getHost(host);
+        synchronized (h) {
+            if (h.inFlight < h.maxConcurrent) {
+                h.inFlight++;
+                return Futures.immediateFuture(true);
+            }
+            if (h.waiting.size() < THREAD_PER_REQUEST_MAX_QUEUED_PER_HOST && !deadline.isExpired()) {
+                final Waiter w = new Waiter(deadline);
+                h.waiting.add(w);
+                w.permit.addListener(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        if (w.permit.isCancelled()) {
+                            synchronized (h) {
+                                h.waiting.remove(w);
+                            }
+                        }
+                    }
+                }, MoreExecutors.directExecutor());
+
+                return w.permit;
+            }
+        }
+
+        return Futures.immediateFuture(false);
+    }
+
+    /**
+     * Returns a permit granted by {@link #acquire(String, Deadline)}, handing it over to the next request waiting.
+     *
+     * @param host host
+     */
+    public void release(String host) {
+        Host h = getHost(host);
+        while (true) {
+            Waiter next;
+            synchronized (h) {
+                next = h.waiting.poll();
+                if (next == null) {
+                    h.inFlight--;
+                    return;
+                }
+            }
+            // requests whose deadline passed while waiting are refused rather than started late
+            if (next.deadline.isExpired()) {
+                next.permit.set(false);
+            } else if (next.permit.set(true)) {
+                return;
+            }
+        }
+    }
+
+}
@@ -23,15 +23,35 @@
  */
 package com.dnastack.bob.service.fetcher.util;
 
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.dto.ConnectionPoolTo;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
-import javax.enterprise.context.Dependent;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
+import org.apache.http.Consts;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
 import org.apache.http.NameValuePair;
 import org.apache.http.StatusLine;
 import org.apache.http.client.config.RequestConfig;
@@ -40,36 +60,95 @@ import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.util.EntityUtils;
 import org.jboss.logging.Logger;
 
+import static com.dnastack.bob.service.util.Constants.HTTP_DRAIN_THRESHOLD;
+import static com.dnastack.bob.service.util.Constants.HTTP_IDLE_TIMEOUT;
+import static com.dnastack.bob.service.util.Constants.HTTP_MAX_CONNECTIONS;
+import static com.dnastack.bob.service.util.Constants.HTTP_MAX_CONNECTIONS_PER_HOST;
+import static com.dnastack.bob.service.util.Constants.HTTP_MAX_CONNECTIONS_PER_HOST_PREFIX;
 import static com.dnastack.bob.service.util.Constants.REQUEST_TIMEOUT;
 
 /**
- * Util methods for querying over HTTP.
+ * Util methods for querying over HTTP. All the requests share a single pool of persistent connections, limited per
+ * beacon host (see {@link com.dnastack.bob.service.util.Constants} for the configuration properties).
  *
  * @author Miroslav Cupak (mirocupak@gmail.com)
  * @version 1.0
  */
 @Named
-@Dependent
+@ApplicationScoped
 public class HttpUtils {
 
     @Inject
     private Logger logger;
 
+    @Resource
+    private ManagedScheduledExecutorService scheduler;
+
+    private PoolingHttpClientConnectionManager connectionManager;
     private CloseableHttpClient httpClient;
+    private RequestConfig config;
+    private ScheduledFuture<?> reaper;
+    private final Set<HttpRoute> routes = Collections.newSetFromMap(new ConcurrentHashMap<HttpRoute, Boolean>());
 
     @PostConstruct
     private void init() {
-        RequestConfig config = RequestConfig.custom().setSocketTimeout(REQUEST_TIMEOUT * 1000).setConnectTimeout(REQUEST_TIMEOUT * 1000).setConnectionRequestTimeout(REQUEST_TIMEOUT * 1000).build();
-        httpClient = HttpClients.custom().setDefaultRequestConfig(config).build();
+        // runs before the bean is handed out, so no request sees the client half-built
+        config = RequestConfig.custom().setSocketTimeout(REQUEST_TIMEOUT * 1000).setConnectTimeout(REQUEST_TIMEOUT * 1000).setConnectionRequestTimeout(REQUEST_TIMEOUT * 1000).build();
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(HTTP_MAX_CONNECTIONS);
+        connectionManager.setDefaultMaxPerRoute(HTTP_MAX_CONNECTIONS_PER_HOST);
+        httpClient = HttpClients.custom().setDefaultRequestConfig(config).setConnectionManager(connectionManager).setKeepAliveStrategy(new BoundedKeepAliveStrategy()).build();
+
+        // no scheduler when created outside of the container, connections are then only checked when leased
+        if (scheduler != null) {
+            reaper = scheduler.scheduleWithFixedDelay(new Runnable() {
+
+                @Override
+                public void run() {
+                    connectionManager.closeExpiredConnections();
+                    connectionManager.closeIdleConnections(HTTP_IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+                }
+            }, HTTP_IDLE_TIMEOUT, HTTP_IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void registerRoute(HttpRequestBase request) {
+        HttpHost host = URIUtils.extractHost(request.getURI());
+        if (host == null) {
+            return;
+        }
+        boolean secure = "https".equalsIgnoreCase(host.getSchemeName());
+        int port = (host.getPort() < 0) ? (secure ? 443 : 80) : host.getPort();
+        HttpRoute route = new HttpRoute(new HttpHost(host.getHostName(), port, host.getSchemeName()), null, secure);
+
+        if (routes.add(route)) {
+            Integer max = Integer.getInteger(HTTP_MAX_CONNECTIONS_PER_HOST_PREFIX + host.getHostName());
+            if (max != null) {
+                connectionManager.setMaxPerRoute(route, max);
+            }
+        }
+    }
+
+    private void setTimeouts(HttpRequestBase request, Deadline deadline) {
+        int remaining = (int) Math.max(deadline.getRemaining(TimeUnit.MILLISECONDS), 1);
+        request.setConfig(RequestConfig.copy(config).setSocketTimeout(remaining).setConnectTimeout(remaining).setConnectionRequestTimeout(remaining).build());
     }
 
     @PreDestroy
     private void close() {
+        if (reaper != null) {
+            reaper.cancel(false);
+        }
         if (httpClient != null) {
             try {
                 httpClient.close();
@@ -108,6 +187,43 @@ public class HttpUtils {
         return (post) ? createPost(url, data) : createGet(url);
     }
 
+    private String readPrefix(HttpRequestBase request, HttpEntity entity, int limit) throws IOException {
+        ContentType type = ContentType.getOrDefault(entity);
+        Charset charset = (type.getCharset() == null) ? Consts.ISO_8859_1 : type.getCharset();
+        InputStream in = entity.getContent();
+        if (in == null) {
+            return null;
+        }
+
+        byte[] buf = new byte[limit];
+        int n = 0;
+        int r = 0;
+        while (n < limit && (r = in.read(buf, n, limit - n)) != -1) {
+            n += r;
+        }
+
+        // a small rest is drained so that the connection goes back to the pool, a large one is cut off with the connection
+        long length = entity.getContentLength();
+        if ((length >= 0 && length - n > HTTP_DRAIN_THRESHOLD) || !drain(in, HTTP_DRAIN_THRESHOLD)) {
+            request.abort();
+        }
+
+        return new String(buf, 0, n, charset);
+    }
+
+    private static boolean drain(InputStream in, int max) throws IOException {
+        byte[] buf = new byte[Math.min(Math.max(max, 1), 4096)];
+        for (int drained = 0; drained <= max; ) {
+            int r = in.read(buf);
+            if (r == -1) {
+                return true;
+            }
+            drained += r;
+        }
+
+        return false;
+    }
+
     /**
      * Executes GET/POST and obtain the response.
      *
@@ -116,15 +232,31 @@ public class HttpUtils {
      * @return response
      */
     public String executeRequest(HttpRequestBase request) {
+        return executeRequest(request, -1);
+    }
+
+    /**
+     * Executes GET/POST and obtain the beginning of the response. Only as much of the response as requested is read.
+     *
+     * @param request request
+     * @param limit   number of bytes of the response to read, negative to read all of it
+     *
+     * @return response (its first limit bytes)
+     */
+    public String executeRequest(HttpRequestBase request, int limit) {
         String response = null;
 
+        registerRoute(request);
+
         CloseableHttpResponse res = null;
         try {
             res = httpClient.execute(request);
             StatusLine line = res.getStatusLine();
             int status = line.getStatusCode();
             HttpEntity entity = res.getEntity();
-            response = (entity == null) ? null : EntityUtils.toString(entity);
+            if (entity != null) {
+                response = (limit < 0) ? EntityUtils.toString(entity) : readPrefix(request, entity, limit);
+            }
         } catch (IOException ex) {
             logger.error(ex.getMessage());
         } finally {
@@ -138,4 +270,101 @@ public class HttpUtils {
         }
         return response;
     }
+
+    /**
+     * Executes GET/POST and obtain the response, giving up when the deadline passes.
+     *
+     * @param request  request
+     * @param deadline time by which the response has to be obtained
+     *
+     * @return response (null if it could not be obtained in time)
+     */
+    public String executeRequest(HttpRequestBase request, Deadline deadline) {
+        return executeRequest(request, deadline, -1);
+    }
+
+    /**
+     * Executes GET/POST and obtain the beginning of the response, giving up when the deadline passes.
+     *
+     * @param request  request
+     * @param deadline time by which the response has to be obtained
+     * @param limit    number of bytes of the response to read, negative to read all of it
+     *
+     * @return response (null if it could not be obtained in time)
+     */
+    public String executeRequest(HttpRequestBase request, Deadline deadline, int limit) {
+        if (deadline.isExpired()) {
+            return null;
+        }
+        setTimeouts(request, deadline);
+
+        return executeRequest(request, limit);
+    }
+
+    /**
+     * Executes GET/POST on the given executor. Cancelling the returned future aborts the request.
+     *
+     * @param request  request
+     * @param deadline time by which the response has to be obtained
+     * @param executor executor to block in while waiting for the response
+     *
+     * @return response (null if it could not be obtained in time)
+     */
+    public ListenableFuture<String> executeRequest(HttpRequestBase request, Deadline deadline, Executor executor) {
+        return executeRequest(request, deadline, -1, executor);
+    }
+
+    /**
+     * Executes GET/POST on the given executor, reading only the beginning of the response. Cancelling the returned
+     * future aborts the request.
+     *
+     * @param request  request
+     * @param deadline time by which the response has to be obtained
+     * @param limit    number of bytes of the response to read, negative to read all of it
+     * @param executor executor to block in while waiting for the response
+     *
+     * @return response (null if it could not be obtained in time)
+     */
+    public ListenableFuture<String> executeRequest(final HttpRequestBase request, final Deadline deadline, final int limit, Executor executor) {
+        final ListenableFutureTask<String> task = ListenableFutureTask.create(new Callable<String>() {
+
+            @Override
+            public String call() {
+                return executeRequest(request, deadline, limit);
+            }
+        });
+        task.addListener(new Runnable() {
+
+            @Override
+            public void run() {
+                if (task.isCancelled()) {
+                    request.abort();
+                }
+            }
+        }, MoreExecutors.directExecutor());
+        executor.execute(task);
+
+        return task;
+    }
+
+    /**
+     * Obtains statistics of the connection pool, in total (host *) and for every beacon host queried so far.
+     *
+     * @return pool statistics
+     */
+    public Collection<ConnectionPoolTo> getPoolStats() {
+        List<ConnectionPoolTo> stats = new ArrayList<>();
+        if (connectionManager == null) {
+            return stats;
+        }
+
+        PoolStats total = connectionManager.getTotalStats();
+        stats.add(new ConnectionPoolTo("*", total.getLeased(), total.getPending(), total.getAvailable(), total.getMax()));
+        for (HttpRoute route : routes) {
+            PoolStats s = connectionManager.getStats(route);
+            stats.add(new ConnectionPoolTo(route.getTargetHost().toHostString(), s.getLeased(), s.getPending(), s.getAvailable(), s.getMax()));
+        }
+
+        return stats;
+    }
 }
@@ -0,0 +1,216 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.fetcher.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.event.BeaconChangeEvent;
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.util.BeaconTimeouts;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import javax.inject.Named;
+import org.apache.http.client.methods.HttpRequestBase;
+
+import static com.dnastack.bob.service.util.Constants.HEDGING;
+import static com.dnastack.bob.service.util.Constants.HEDGING_BUDGET;
+
+/**
+ * Hedges requests to beacons with heavy-tailed latencies. If a beacon opted in by its hedge percentile has not answered
+ * within that percentile of its recent latencies, a copy of the request is sent over another pooled connection and
+ * whichever answers first wins, the other one is aborted. Each beacon earns a fraction of a hedge with every request
+ * (its hedge budget), so hedging cannot add more than the budget to the load of the beacon.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class RequestHedger {
+
+    // hedges a beacon can save up for a burst of slow responses
+    private static final double MAX_SAVED_HEDGES = 10;
+
+    @Inject
+    private BeaconTimeouts timeouts;
+
+    @Resource
+    private ManagedScheduledExecutorService scheduler;
+
+    private final ConcurrentMap<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    private static class Budget {
+
+        private double hedges = 0;
+
+        synchronized void earn(double share) {
+            hedges = Math.min(hedges + share, MAX_SAVED_HEDGES);
+        }
+
+        synchronized boolean spend() {
+            if (hedges < 1) {
+                return false;
+            }
+            hedges--;
+
+            return true;
+        }
+    }
+
+    private Budget getBudget(Beacon beacon) {
+        Budget b = budgets.get(beacon.getId());
+        if (b == null) {
+            Budget created = new Budget();
+            b = budgets.putIfAbsent(beacon.getId(), created);
+            if (b == null) {
+                b = created;
+            }
+        }
+
+        return b;
+    }
+
+    private void attempt(ListenableFuture<String> f, final SettableFuture<String> res, final List<ListenableFuture<String>> attempts, final AtomicInteger outstanding) {
+        attempts.add(f);
+        if (res.isDone()) {
+            f.cancel(true);
+            return;
+        }
+
+        Futures.addCallback(f, new FutureCallback<String>() {
+
+            @Override
+            public void onSuccess(String result) {
+                if (result != null) {
+                    res.set(result);
+                } else if (outstanding.decrementAndGet() == 0) {
+                    res.set(null);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                if (outstanding.decrementAndGet() == 0) {
+                    res.set(null);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Checks whether requests to a beacon are hedged.
+     *
+     * @param beacon beacon
+     *
+     * @return true/false
+     */
+    public boolean isHedged(Beacon beacon) {
+        return HEDGING && scheduler != null && beacon.getHedgePercentile() != null;
+    }
+
+    /**
+     * Executes a request, hedging it if the beacon opted in and has enough latency history and budget.
+     *
+     * @param beacon    beacon
+     * @param request   request
+     * @param deadline  time by which the response has to be obtained
+     * @param transport execution of a request
+     *
+     * @return response (null if none of the requests obtained one in time)
+     */
+    public ListenableFuture<String> execute(Beacon beacon, final HttpRequestBase request, final Deadline deadline, final Function<HttpRequestBase, ListenableFuture<String>> transport) {
+        Long delay = isHedged(beacon) ? timeouts.getLatency(beacon, beacon.getHedgePercentile()) : null;
+        if (delay == null) {
+            return transport.apply(request);
+        }
+
+        final Budget budget = getBudget(beacon);
+        budget.earn(((beacon.getHedgeBudget() == null) ? HEDGING_BUDGET : beacon.getHedgeBudget()) / 100);
+
+        final SettableFuture<String> res = SettableFuture.create();
+        final List<ListenableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        final AtomicInteger outstanding = new AtomicInteger(1);
+        // a copy has to be made before the original is executed
+        final HttpRequestBase hedge;
+        try {
+            hedge = (HttpRequestBase) request.clone();
+        } catch (CloneNotSupportedException ex) {
+            return transport.apply(request);
+        }
+
+        attempt(transport.apply(request), res, attempts, outstanding);
+        final ScheduledFuture<?> hedging = scheduler.schedule(new Runnable() {
+
+            @Override
+            public void run() {
+                if (res.isDone() || deadline.isExpired() || !budget.spend()) {
+                    return;
+                }
+                outstanding.incrementAndGet();
+                attempt(transport.apply(hedge), res, attempts, outstanding);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+
+        // the loser (or both, if the caller gave up) is aborted
+        res.addListener(new Runnable() {
+
+            @Override
+            public void run() {
+                hedging.cancel(false);
+                for (ListenableFuture<String> f : attempts) {
+                    if (!f.isDone()) {
+                        f.cancel(true);
+                    }
+                }
+            }
+        }, MoreExecutors.directExecutor());
+
+        return res;
+    }
+
+    /**
+     * Forgets the budget of a beacon once a change of the beacon is committed.
+     *
+     * @param event change
+     */
+    public void onBeaconChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) BeaconChangeEvent event) {
+        budgets.remove(event.getBeaconId());
+    }
+}
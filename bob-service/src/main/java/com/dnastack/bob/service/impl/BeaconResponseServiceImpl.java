@@ -23,13 +23,16 @@
  */
 package com.dnastack.bob.service.impl;
 
-import com.dnastack.bob.persistence.api.BeaconDao;
 import com.dnastack.bob.persistence.entity.Beacon;
 import com.dnastack.bob.persistence.entity.Query;
-import com.dnastack.bob.persistence.enumerated.Chromosome;
-import com.dnastack.bob.persistence.enumerated.Reference;
+import com.dnastack.bob.service.api.BeaconResponseListener;
 import com.dnastack.bob.service.api.BeaconResponseService;
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.dto.BeaconResponseMatrixTo;
+import com.dnastack.bob.service.dto.BeaconResponseRowTo;
 import com.dnastack.bob.service.dto.BeaconResponseTo;
+import com.dnastack.bob.service.dto.BeaconTo;
+import com.dnastack.bob.service.dto.VariantTo;
 import com.dnastack.bob.service.lrg.Brca;
 import com.dnastack.bob.service.lrg.Brca2;
 import com.dnastack.bob.service.lrg.LrgConvertor;
@@ -37,14 +40,32 @@ import com.dnastack.bob.service.lrg.LrgLocus;
 import com.dnastack.bob.service.lrg.LrgReference;
 import com.dnastack.bob.service.processor.api.BeaconProcessor;
 import com.dnastack.bob.service.processor.api.BeaconResponse;
+import com.dnastack.bob.service.processor.util.ExecutionPlanner;
+import com.dnastack.bob.service.util.BatchScheduler;
+import com.dnastack.bob.service.util.BeaconTopologyProvider;
 import com.dnastack.bob.service.util.CdiBeanResolver;
+import com.dnastack.bob.service.util.CircuitBreakers;
 import com.dnastack.bob.service.util.Entity2ToConvertor;
+import com.dnastack.bob.service.util.QueryCoalescer;
+import com.dnastack.bob.service.util.QueryLog;
+import com.dnastack.bob.service.util.QueryNormalizer;
+import com.dnastack.bob.service.util.ResponseAggregator;
+import com.dnastack.bob.service.util.ResponseCache;
+import com.google.common.base.Function;
+import com.google.common.base.Supplier;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Table;
+import com.google.common.util.concurrent.Futures;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -52,7 +73,6 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.regex.Pattern;
 import javax.ejb.AsyncResult;
 import javax.ejb.Asynchronous;
 import javax.ejb.Local;
@@ -60,11 +80,13 @@ import javax.ejb.Stateless;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.naming.NamingException;
 import javax.transaction.Transactional;
 import javax.validation.Validator;
 
-import static com.dnastack.bob.service.util.Constants.REFERENCE_MAPPING;
-import static com.dnastack.bob.service.util.Constants.REQUEST_TIMEOUT;
+import static com.dnastack.bob.service.util.Constants.EARLY_EXIT_AGGREGATION;
+import static com.dnastack.bob.service.util.Constants.QUERY_COALESCING;
+import static com.dnastack.bob.service.util.Constants.RESPONSE_CACHING;
 
 /**
  * Implementation of a service for managing beacon responses.
@@ -82,7 +104,7 @@ public class BeaconResponseServiceImpl implements BeaconResponseService, Seriali
     private static final long serialVersionUID = 103L;
 
     @Inject
-    private BeaconDao beaconDao;
+    private BeaconTopologyProvider topologyProvider;
 
     @Inject
     private BeaconProcessor beaconProcessor;
@@ -93,6 +115,30 @@ public class BeaconResponseServiceImpl implements BeaconResponseService, Seriali
     @Inject
     private Validator validator;
 
+    @Inject
+    private ResponseAggregator responseAggregator;
+
+    @Inject
+    private ResponseCache responseCache;
+
+    @Inject
+    private QueryCoalescer queryCoalescer;
+
+    @Inject
+    private QueryNormalizer queryNormalizer;
+
+    @Inject
+    private ExecutionPlanner executionPlanner;
+
+    @Inject
+    private BatchScheduler batchScheduler;
+
+    @Inject
+    private CircuitBreakers circuitBreakers;
+
+    @Inject
+    private QueryLog queryLog;
+
     @Inject
     @Brca
     private LrgConvertor brcaConvertor;
@@ -101,78 +147,172 @@ public class BeaconResponseServiceImpl implements BeaconResponseService, Seriali
     @Brca2
     private LrgConvertor brca2Convertor;
 
-    private Chromosome normalizeChromosome(String chrom) {
-        // parse chrom value
-        if (chrom != null) {
-            String orig = chrom.toUpperCase();
-            for (Chromosome c : Chromosome.values()) {
-                if (orig.endsWith(c.toString())) {
-                    return c;
-                }
-            }
+    /**
+     * Obtains a canonical query object without persisting.
+     *
+     * @param chrom  chromosome
+     * @param pos    position
+     * @param allele allele
+     * @param ref    genome
+     *
+     * @return normalized query
+     */
+    private Query prepareQuery(String chrom, Long pos, String allele, String ref) {
+        return queryNormalizer.normalize(chrom, pos, allele, ref);
+    }
+
+    private BeaconResponseTo getBeaconResponseTo(BeaconResponse br) {
+        BeaconResponseTo res = Entity2ToConvertor.getBeaconResponseTo(br);
+        if (res != null) {
+            circuitBreakers.describe(res.getBeacon());
         }
 
-        return null;
+        return res;
     }
 
-    private String normalizeAllele(String allele) {
-        if (allele == null || allele.isEmpty()) {
-            return null;
+    private Collection<BeaconResponseTo> getBeaconResponseTos(Collection<BeaconResponse> brs) {
+        Collection<BeaconResponseTo> res = Entity2ToConvertor.getBeaconResponseTos(brs);
+        for (BeaconResponseTo br : res) {
+            circuitBreakers.describe(br.getBeacon());
         }
 
-        String res = allele.toUpperCase();
-        if (res.equals("DEL") || res.equals("INS")) {
-            return res.substring(0, 1);
-        }
-        if (Pattern.matches("([D,I])|([A,C,T,G]+)", res)) {
-            return res;
+        return res;
+    }
+
+    private Collection<BeaconResponse> logQuery(Query q, Collection<BeaconResponse> brs) {
+        Map<String, Boolean> responses = new HashMap<>();
+        for (BeaconResponse br : brs) {
+            responses.put(br.getBeacon().getId(), br.getResponse());
         }
+        queryLog.log(q, responses);
 
-        return null;
+        return brs;
     }
 
-    private Reference normalizeReference(String ref) {
-        if (ref == null || ref.isEmpty()) {
-            return null;
-        }
+    private boolean queryNotNormalizedOrValid(Query q, String ref) {
+        return (!(ref == null || ref.isEmpty()) && q.getReference() == null) || !validator.validate(q).isEmpty();
+    }
 
-        for (Reference s : REFERENCE_MAPPING.keySet()) {
-            if (s.toString().equalsIgnoreCase(ref)) {
-                return s;
+    private Future<Boolean> executeQuery(final Beacon b, final Query q, final Deadline deadline) {
+        if (RESPONSE_CACHING) {
+            Boolean cached = responseCache.get(b, q);
+            if (cached != null) {
+                return Futures.immediateFuture(cached);
             }
         }
-        for (Entry<Reference, String> e : REFERENCE_MAPPING.entrySet()) {
-            if (e.getValue().equalsIgnoreCase(ref)) {
-                return e.getKey();
+
+        Supplier<Future<Boolean>> execution = new Supplier<Future<Boolean>>() {
+
+            @Override
+            public Future<Boolean> get() {
+                Future<Boolean> f = beaconProcessor.executeQuery(b, q, deadline);
+
+                return RESPONSE_CACHING ? responseCache.putWhenDone(b, q, f) : f;
             }
-        }
+        };
 
-        return null;
+        return QUERY_COALESCING ? queryCoalescer.execute(b, q, execution) : execution.get();
     }
 
     /**
-     * Obtains a canonical query object without persisting.
+     * Executes multiple queries against a beacon accepting several variants per request. Only the queries without a
+     * cached response are sent to the beacon.
      *
-     * @param chrom  chromosome
-     * @param pos    position
-     * @param allele allele
-     * @param ref    genome
+     * @param b        beacon
+     * @param qs       queries
+     * @param deadline time by which the responses have to be obtained
      *
-     * @return normalized query
+     * @return responses (missing if not obtained)
      */
-    private Query prepareQuery(String chrom, Long pos, String allele, String ref) {
-        Chromosome c = normalizeChromosome(chrom);
-        Reference r = normalizeReference(ref);
+    private Future<Map<Query, Boolean>> executeQueries(final Beacon b, Collection<Query> qs, Deadline deadline) {
+        final Map<Query, Boolean> cached = new HashMap<>();
+        List<Query> missing = new ArrayList<>();
+        for (Query q : qs) {
+            Boolean r = RESPONSE_CACHING ? responseCache.get(b, q) : null;
+            if (r != null) {
+                cached.put(q, r);
+            } else {
+                missing.add(q);
+            }
+        }
+        if (missing.isEmpty()) {
+            return Futures.<Map<Query, Boolean>>immediateFuture(cached);
+        }
 
-        return new Query(c == null ? null : c, pos, normalizeAllele(allele), r == null ? null : r);
+        return Futures.lazyTransform(beaconProcessor.executeQueries(b, missing, deadline), new Function<Map<Query, Boolean>, Map<Query, Boolean>>() {
+
+            @Override
+            public Map<Query, Boolean> apply(Map<Query, Boolean> input) {
+                Map<Query, Boolean> res = new HashMap<>(cached);
+                if (input != null) {
+                    for (Entry<Query, Boolean> e : input.entrySet()) {
+                        if (e.getValue() != null) {
+                            res.put(e.getKey(), e.getValue());
+                            if (RESPONSE_CACHING) {
+                                responseCache.put(b, e.getKey(), e.getValue());
+                            }
+                        }
+                    }
+                }
+
+                return res;
+            }
+        });
     }
 
-    private boolean queryNotNormalizedOrValid(Query q, String ref) {
-        return (!(ref == null || ref.isEmpty()) && q.getReference() == null) || !validator.validate(q).isEmpty();
+    /**
+     * Executes a batch of queries against the given regular beacons. Beacons accepting several variants per request
+     * get the whole batch at once, the others are queried variant by variant with a bounded number of concurrent
+     * requests per beacon.
+     *
+     * @param leaves   regular beacons
+     * @param qs       queries
+     * @param deadline time by which the responses have to be obtained
+     *
+     * @return responses obtained in time
+     * @throws ClassNotFoundException
+     */
+    private Table<Beacon, Query, Boolean> executeBatch(Collection<Beacon> leaves, Collection<Query> qs, final Deadline deadline) throws ClassNotFoundException {
+        Map<Beacon, Future<Map<Query, Boolean>>> batched = new HashMap<>();
+        List<Beacon> single = new ArrayList<>();
+        for (Beacon b : leaves) {
+            boolean multiVariant = false;
+            try {
+                multiVariant = executionPlanner.getPlan(b).isMultiVariant();
+            } catch (NamingException ex) {
+                // the beacon will fail the same way variant by variant
+            }
+
+            if (multiVariant) {
+                batched.put(b, executeQueries(b, qs, deadline));
+            } else {
+                single.add(b);
+            }
+        }
+
+        Table<Beacon, Query, Boolean> res = batchScheduler.execute(single, qs, new Function<Entry<Beacon, Query>, Future<Boolean>>() {
+
+            @Override
+            public Future<Boolean> apply(Entry<Beacon, Query> input) {
+                return executeQuery(input.getKey(), input.getValue(), deadline);
+            }
+        }, deadline);
+
+        for (Entry<Beacon, Future<Map<Query, Boolean>>> e : batched.entrySet()) {
+            try {
+                for (Entry<Query, Boolean> r : e.getValue().get(deadline.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS).entrySet()) {
+                    res.put(e.getKey(), r.getKey(), r.getValue());
+                }
+            } catch (InterruptedException | ExecutionException | TimeoutException ex) {
+                // ignore, responses stay missing
+            }
+        }
+
+        return res;
     }
 
     @Asynchronous
-    private Future<Boolean> queryBeacon(Beacon b, Query q) throws ClassNotFoundException {
+    private Future<Boolean> queryBeacon(Beacon b, Query q, Deadline deadline) throws ClassNotFoundException {
         Boolean total = null;
 
         if (b.getAggregator()) {
@@ -180,16 +320,16 @@ public class BeaconResponseServiceImpl implements BeaconResponseService, Seriali
 
             // execute queries in parallel
             Map<Beacon, Future<Boolean>> futures = new HashMap<>();
-            Set<Beacon> children = beaconDao.findDescendants(b, false, true, false, false);
+            Set<Beacon> children = topologyProvider.getTopology().getLeaves(b);
             for (Beacon bt : children) {
-                futures.put(bt, beaconProcessor.executeQuery(bt, q));
+                futures.put(bt, executeQuery(bt, q, deadline));
             }
 
             // collect results
             for (Entry<Beacon, Future<Boolean>> e : futures.entrySet()) {
                 Boolean res = null;
                 try {
-                    res = e.getValue().get(REQUEST_TIMEOUT, TimeUnit.SECONDS);
+                    res = e.getValue().get(deadline.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
                 } catch (InterruptedException | ExecutionException | TimeoutException ex) {
                     // ignore, response already null
                 }
@@ -199,7 +339,7 @@ public class BeaconResponseServiceImpl implements BeaconResponseService, Seriali
             }
         } else {
             try {
-                total = beaconProcessor.executeQuery(b, q).get(REQUEST_TIMEOUT, TimeUnit.SECONDS);
+                total = executeQuery(b, q, deadline).get(deadline.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
             } catch (InterruptedException | ExecutionException | TimeoutException ex) {
                 // ignore
             }
@@ -221,34 +361,38 @@ public class BeaconResponseServiceImpl implements BeaconResponseService, Seriali
         return brs;
     }
 
-    private Map<Beacon, BeaconResponse> setUpBeaconResponseMapForIds(Collection<String> beaconIds, Query q) {
+    private Collection<Beacon> getBeacons(Collection<String> beaconIds) {
         if (beaconIds == null) {
-            return setUpBeaconResponseMapForBeacons(beaconDao.findByVisibility(true), q);
+            return topologyProvider.getTopology().getVisible();
         }
 
         Set<Beacon> bs = new HashSet<>();
         for (String id : beaconIds) {
-            Beacon b = beaconDao.findById(id);
+            Beacon b = topologyProvider.getTopology().getBeacon(id);
             if (b != null && b.getVisible()) {
                 bs.add(b);
             }
         }
 
-        return setUpBeaconResponseMapForBeacons(bs, q);
+        return bs;
+    }
+
+    private Map<Beacon, BeaconResponse> setUpBeaconResponseMapForIds(Collection<String> beaconIds, Query q) {
+        return setUpBeaconResponseMapForBeacons(getBeacons(beaconIds), q);
     }
 
-    private Map<Beacon, BeaconResponse> fillBeaconResponseMap(Map<Beacon, BeaconResponse> brs, Query q) throws ClassNotFoundException {
+    private Map<Beacon, BeaconResponse> fillBeaconResponseMap(Map<Beacon, BeaconResponse> brs, Query q, Deadline deadline) throws ClassNotFoundException {
         // execute queries in parallel
         Map<Beacon, Future<Boolean>> futures = new HashMap<>();
         for (Beacon b : brs.keySet()) {
-            futures.put(b, queryBeacon(b, q));
+            futures.put(b, queryBeacon(b, q, deadline));
         }
 
         // collect results
         for (Entry<Beacon, Future<Boolean>> e : futures.entrySet()) {
             Boolean b = null;
             try {
-                b = e.getValue().get(REQUEST_TIMEOUT, TimeUnit.SECONDS);
+                b = e.getValue().get(deadline.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
             } catch (InterruptedException | ExecutionException | TimeoutException ex) {
                 // ignore, response already null
             }
@@ -288,7 +432,7 @@ public class BeaconResponseServiceImpl implements BeaconResponseService, Seriali
         Multimap<Beacon, Beacon> children = HashMultimap.create();
         for (Beacon b : beacons) {
             if (b.getAggregator()) {
-                children.putAll(b, beaconDao.findDescendants(b, false, true, false, false));
+                children.putAll(b, topologyProvider.getTopology().getLeaves(b));
             } else {
                 children.put(b, b);
             }
@@ -327,7 +471,32 @@ public class BeaconResponseServiceImpl implements BeaconResponseService, Seriali
         return res;
     }
 
-    private Collection<BeaconResponse> queryMultipleBeacons(Collection<String> beaconIds, String chrom, Long pos, String allele, String ref) throws ClassNotFoundException {
+    /**
+     * Queries all the children at once and resolves each of the given beacons as soon as its response is known.
+     *
+     * @param brs      responses to fill in
+     * @param q        query
+     * @param deadline time by which the responses have to be obtained
+     *
+     * @return filled responses
+     */
+    private Map<Beacon, BeaconResponse> fillResponsesInCompletionOrder(Map<Beacon, BeaconResponse> brs, Query q, Deadline deadline) {
+        Multimap<Beacon, Beacon> children = setUpChildrenMultimap(brs.keySet());
+
+        Map<Beacon, Future<Boolean>> futures = new HashMap<>();
+        for (Beacon c : new HashSet<>(children.values())) {
+            futures.put(c, executeQuery(c, q, deadline));
+        }
+
+        Map<Beacon, Boolean> rs = responseAggregator.aggregate(futures, children, deadline);
+        for (Entry<Beacon, BeaconResponse> e : brs.entrySet()) {
+            e.getValue().setResponse(rs.get(e.getKey()));
+        }
+
+        return brs;
+    }
+
+    private Collection<BeaconResponse> queryMultipleBeacons(Collection<String> beaconIds, String chrom, Long pos, String allele, String ref, Deadline deadline) throws ClassNotFoundException {
         Query q = getQuery(chrom, pos, allele, ref);
 
         // init to create a response for each beacon even if the query is invalid
@@ -338,20 +507,24 @@ public class BeaconResponseServiceImpl implements BeaconResponseService, Seriali
             return brs.values();
         }
 
+        if (EARLY_EXIT_AGGREGATION) {
+            return logQuery(q, fillResponsesInCompletionOrder(brs, q, deadline).values());
+        }
+
         // construct map of atomic nodes covered by aggregates
         Multimap<Beacon, Beacon> children = setUpChildrenMultimap(brs.keySet());
         // obtain children's responses
-        Map<Beacon, BeaconResponse> childrenResponses = fillBeaconResponseMap(setUpBeaconResponseMapForBeacons(new HashSet<>(children.values()), q), q);
+        Map<Beacon, BeaconResponse> childrenResponses = fillBeaconResponseMap(setUpBeaconResponseMapForBeacons(new HashSet<>(children.values()), q), q, deadline);
 
         // aggregate
-        return fillAggregateResponses(brs, childrenResponses, children, q).values();
+        return logQuery(q, fillAggregateResponses(brs, childrenResponses, children, q).values());
     }
 
     @Override
-    public BeaconResponseTo queryBeacon(String beaconId, String chrom, Long pos, String allele, String ref) throws ClassNotFoundException {
+    public BeaconResponseTo queryBeacon(String beaconId, String chrom, Long pos, String allele, String ref, Deadline deadline) throws ClassNotFoundException {
         Query q = getQuery(chrom, pos, allele, ref);
 
-        Beacon b = beaconDao.findById(beaconId);
+        Beacon b = topologyProvider.getTopology().getBeacon(beaconId);
         if (b == null || !b.getVisible()) {
             // nonexisting beaconId param specified
             Beacon beacon = new Beacon();
@@ -362,35 +535,150 @@ public class BeaconResponseServiceImpl implements BeaconResponseService, Seriali
             beacon.setEnabled(false);
             beacon.setVisible(false);
             beacon.setAggregator(true);
-            return Entity2ToConvertor.getBeaconResponseTo(new BeaconResponse(beacon, q, null));
+            return getBeaconResponseTo(new BeaconResponse(beacon, q, null));
         }
 
         BeaconResponse br = new BeaconResponse(b, q, null);
         if (queryNotNormalizedOrValid(q, ref)) {
-            return Entity2ToConvertor.getBeaconResponseTo(br);
+            return getBeaconResponseTo(br);
         }
 
-        try {
-            br.setResponse(queryBeacon(b, q).get(REQUEST_TIMEOUT, TimeUnit.SECONDS));
-        } catch (InterruptedException | ExecutionException | TimeoutException ex) {
-            // ignore, response already null
+        if (EARLY_EXIT_AGGREGATION) {
+            Map<Beacon, BeaconResponse> brs = new HashMap<>();
+            brs.put(b, br);
+            fillResponsesInCompletionOrder(brs, q, deadline);
+        } else {
+            try {
+                br.setResponse(queryBeacon(b, q, deadline).get(deadline.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS));
+            } catch (InterruptedException | ExecutionException | TimeoutException ex) {
+                // ignore, response already null
+            }
         }
+        logQuery(q, Collections.singleton(br));
 
-        return Entity2ToConvertor.getBeaconResponseTo(br);
+        return getBeaconResponseTo(br);
     }
 
     @Override
-    public Collection<BeaconResponseTo> queryBeacons(Collection<String> beaconIds, String chrom, Long pos, String allele, String ref) throws ClassNotFoundException {
+    public Collection<BeaconResponseTo> queryBeacons(Collection<String> beaconIds, String chrom, Long pos, String allele, String ref, Deadline deadline) throws ClassNotFoundException {
         if (beaconIds == null) {
             return new HashSet<>();
         }
 
-        return Entity2ToConvertor.getBeaconResponseTos(queryMultipleBeacons(beaconIds, chrom, pos, allele, ref));
+        return getBeaconResponseTos(queryMultipleBeacons(beaconIds, chrom, pos, allele, ref, deadline));
+    }
+
+    @Override
+    public Collection<BeaconResponseTo> queryAll(String chrom, Long pos, String allele, String ref, Deadline deadline) throws ClassNotFoundException {
+        return getBeaconResponseTos(queryMultipleBeacons(null, chrom, pos, allele, ref, deadline));
+    }
+
+    @Override
+    public void queryStream(Collection<String> beaconIds, String chrom, Long pos, String allele, String ref, Deadline deadline, final BeaconResponseListener listener) throws ClassNotFoundException {
+        final Query q = getQuery(chrom, pos, allele, ref);
+        final Set<Beacon> pending = new HashSet<>();
+        final Map<String, Boolean> responses = Collections.synchronizedMap(new HashMap<String, Boolean>());
+        for (Beacon b : getBeacons(beaconIds)) {
+            if (b != null) {
+                pending.add(b);
+            }
+        }
+
+        if (!queryNotNormalizedOrValid(q, ref)) {
+            Multimap<Beacon, Beacon> children = setUpChildrenMultimap(pending);
+            Map<Beacon, Future<Boolean>> futures = new HashMap<>();
+            for (Beacon c : new HashSet<>(children.values())) {
+                futures.put(c, executeQuery(c, q, deadline));
+            }
+
+            // deliver beacons as they resolve, regardless of the aggregation mode, that's the point of streaming
+            responseAggregator.aggregate(futures, children, deadline, new ResponseAggregator.Listener() {
+
+                @Override
+                public void onResolved(Beacon beacon, Boolean response) {
+                    pending.remove(beacon);
+                    responses.put(beacon.getId(), response);
+                    listener.onResponse(getBeaconResponseTo(new BeaconResponse(beacon, q, response)));
+                }
+            });
+            queryLog.log(q, responses);
+        }
+
+        // the rest did not respond in time
+        for (Beacon b : pending) {
+            listener.onResponse(getBeaconResponseTo(new BeaconResponse(b, q, null)));
+        }
     }
 
     @Override
-    public Collection<BeaconResponseTo> queryAll(String chrom, Long pos, String allele, String ref) throws ClassNotFoundException {
-        return Entity2ToConvertor.getBeaconResponseTos(queryMultipleBeacons(null, chrom, pos, allele, ref));
+    public BeaconResponseMatrixTo queryBatch(Collection<String> beaconIds, List<VariantTo> variants, Deadline deadline) throws ClassNotFoundException {
+        List<Beacon> beacons = new ArrayList<>();
+        for (Beacon b : getBeacons(beaconIds)) {
+            if (b != null) {
+                beacons.add(b);
+            }
+        }
+        Collections.sort(beacons, new Comparator<Beacon>() {
+
+            @Override
+            public int compare(Beacon o1, Beacon o2) {
+                return o1.getId().compareTo(o2.getId());
+            }
+        });
+
+        // normalize, invalid variants stay unanswered and duplicates are queried once
+        List<Query> qs = new ArrayList<>();
+        Set<Query> valid = new LinkedHashSet<>();
+        for (VariantTo v : variants) {
+            Query q = null;
+            if (v != null && v.getChrom() != null) {
+                q = getQuery(v.getChrom(), v.getPos(), v.getAllele(), v.getRef());
+                if (!queryNotNormalizedOrValid(q, v.getRef())) {
+                    valid.add(q);
+                }
+            }
+            qs.add(q);
+        }
+
+        Multimap<Beacon, Beacon> children = setUpChildrenMultimap(beacons);
+        Table<Beacon, Query, Boolean> rs = executeBatch(new HashSet<>(children.values()), valid, deadline);
+
+        List<BeaconResponseRowTo> rows = new ArrayList<>();
+        Set<Query> logged = new HashSet<>();
+        for (Query q : qs) {
+            List<Boolean> responses = new ArrayList<>();
+            for (Beacon b : beacons) {
+                Boolean response = null;
+                if (q != null && valid.contains(q)) {
+                    for (Beacon c : children.get(b)) {
+                        Boolean cr = rs.get(c, q);
+                        if (cr != null) {
+                            response = cr;
+                            if (cr) {
+                                break;
+                            }
+                        }
+                    }
+                }
+                responses.add(response);
+            }
+            if (q != null && valid.contains(q) && logged.add(q)) {
+                // duplicates are logged once, like they are queried once
+                Map<String, Boolean> rowResponses = new HashMap<>();
+                for (int i = 0; i < beacons.size(); i++) {
+                    rowResponses.put(beacons.get(i).getId(), responses.get(i));
+                }
+                queryLog.log(q, rowResponses);
+            }
+            rows.add(new BeaconResponseRowTo(q == null ? null : Entity2ToConvertor.getQueryTo(q), responses));
+        }
+
+        List<BeaconTo> bts = new ArrayList<>();
+        for (Beacon b : beacons) {
+            bts.add(circuitBreakers.describe(Entity2ToConvertor.getBeaconTo(b)));
+        }
+
+        return new BeaconResponseMatrixTo(bts, rows);
     }
 
 }
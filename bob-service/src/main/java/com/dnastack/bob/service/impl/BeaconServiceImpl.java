@@ -27,6 +27,7 @@ import com.dnastack.bob.persistence.api.BeaconDao;
 import com.dnastack.bob.persistence.entity.Beacon;
 import com.dnastack.bob.service.api.BeaconService;
 import com.dnastack.bob.service.dto.BeaconTo;
+import com.dnastack.bob.service.util.CircuitBreakers;
 import com.dnastack.bob.service.util.Entity2ToConvertor;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -52,10 +53,13 @@ public class BeaconServiceImpl implements BeaconService {
     @Inject
     private BeaconDao beaconDao;
 
+    @Inject
+    private CircuitBreakers circuitBreakers;
+
     @Override
     public BeaconTo getBeacon(String beaconId) {
         Beacon b = beaconDao.findById(beaconId);
-        return Entity2ToConvertor.getBeaconTo((b == null || !b.getVisible()) ? null : b);
+        return circuitBreakers.describe(Entity2ToConvertor.getBeaconTo((b == null || !b.getVisible()) ? null : b));
     }
 
     @Override
@@ -73,7 +77,12 @@ public class BeaconServiceImpl implements BeaconService {
 
     @Override
     public Collection<BeaconTo> getAll() {
-        return Entity2ToConvertor.getBeaconTos(beaconDao.findByVisibility(true));
+        Collection<BeaconTo> res = Entity2ToConvertor.getBeaconTos(beaconDao.findByVisibility(true));
+        for (BeaconTo b : res) {
+            circuitBreakers.describe(b);
+        }
+
+        return res;
     }
 
 }
@@ -0,0 +1,50 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.parser.api;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import java.util.List;
+
+/**
+ * Parser of responses to requests for multiple variants invoked directly on the thread that obtained the response,
+ * instead of waiting for the response in a thread of its own. Implementations have to expose this interface as their
+ * local view, so that the EJB proxy can be recognized.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public interface InlineMultiVariantResponseParser extends MultiVariantResponseParser {
+
+    /**
+     * Extracts beacon response values from the given raw response to a multi-variant request.
+     *
+     * @param beacon   beacon
+     * @param response response
+     * @param variants number of variants in the request
+     *
+     * @return true/false for valid values, null otherwise, in the order of the variants in the request
+     */
+    List<Boolean> parse(Beacon beacon, ResponseBody response, int variants);
+
+}
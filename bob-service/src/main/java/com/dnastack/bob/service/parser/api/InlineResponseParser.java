@@ -0,0 +1,49 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.parser.api;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+
+/**
+ * Parser invoked directly on the thread that obtained the response, instead of waiting for the response in a thread
+ * of its own. The asynchronous {@link #parseQueryResponse} remains as an adapter for callers holding a future of the
+ * response. Implementations have to expose this interface (or one extending it) as their local view, so that the EJB
+ * proxy can be recognized.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public interface InlineResponseParser extends ResponseParser {
+
+    /**
+     * Extracts beacon response value from the given raw query response.
+     *
+     * @param beacon   beacon
+     * @param response response
+     *
+     * @return true/false for valid values, null otherwise
+     */
+    Boolean parse(Beacon beacon, ResponseBody response);
+
+}
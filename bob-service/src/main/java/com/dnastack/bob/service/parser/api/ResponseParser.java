@@ -24,6 +24,7 @@
 package com.dnastack.bob.service.parser.api;
 
 import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.service.api.Deadline;
 import java.util.concurrent.Future;
 
 /**
@@ -39,9 +40,10 @@ public interface ResponseParser {
      *
      * @param beacon   beacon
      * @param response response
+     * @param deadline time by which the response has to be parsed
      *
      * @return true/false for valid values, null otherwise
      */
-    Future<Boolean> parseQueryResponse(Beacon beacon, Future<String> response);
+    Future<Boolean> parseQueryResponse(Beacon beacon, Future<String> response, Deadline deadline);
 
 }
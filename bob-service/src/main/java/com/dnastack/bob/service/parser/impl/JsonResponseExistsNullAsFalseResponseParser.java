@@ -24,13 +24,12 @@
 package com.dnastack.bob.service.parser.impl;
 
 import com.dnastack.bob.persistence.entity.Beacon;
-import com.dnastack.bob.service.parser.api.ResponseParser;
-import com.dnastack.bob.service.parser.util.ParseUtils;
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.parser.api.InlineResponseParser;
+import com.dnastack.bob.service.parser.api.ResponseBody;
+import com.dnastack.bob.service.parser.util.JsonPathExtractor;
 import java.io.Serializable;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import javax.ejb.AsyncResult;
 import javax.ejb.Asynchronous;
 import javax.ejb.Local;
@@ -39,8 +38,6 @@ import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import static com.dnastack.bob.service.util.Constants.REQUEST_TIMEOUT;
-
 /**
  * Parses response->exists field from JSON with null conversion.
  *
@@ -50,33 +47,30 @@ import static com.dnastack.bob.service.util.Constants.REQUEST_TIMEOUT;
 @Stateless
 @Named
 @Dependent
-@Local(ResponseParser.class)
-public class JsonResponseExistsNullAsFalseResponseParser implements ResponseParser, Serializable {
+@Local(InlineResponseParser.class)
+public class JsonResponseExistsNullAsFalseResponseParser implements InlineResponseParser, Serializable {
 
     private static final long serialVersionUID = 8528412790574916621L;
 
     @Inject
-    private ParseUtils parseUtils;
+    private JsonPathExtractor jsonPathExtractor;
 
     @Asynchronous
     @Override
-    public Future<Boolean> parseQueryResponse(Beacon b, Future<String> response) {
-        Boolean res = null;
-        try {
-            String str = response.get(REQUEST_TIMEOUT, TimeUnit.SECONDS);
-            res = parseUtils.parseBooleanFromJson(str, "response", "exists");
+    public Future<Boolean> parseQueryResponse(Beacon b, Future<String> response, Deadline deadline) {
+        return new AsyncResult<>(parse(b, ResponseBody.await(response, deadline)));
+    }
 
-            // the beacon uses null as false, convert
-            if (res == null) {
-                String s = null;
-                s = parseUtils.parseStringFromJson(str, "response", "exists");
-                if ("null".equals(s)) {
-                    res = false;
-                }
-            }
-        } catch (InterruptedException | ExecutionException | TimeoutException ex) {
-            // ignore
+    @Override
+    public Boolean parse(Beacon b, ResponseBody response) {
+        String str = response.getText();
+        Boolean res = jsonPathExtractor.extractBoolean(str, "response", "exists");
+
+        // the beacon uses null as false, convert
+        if (res == null && "null".equals(jsonPathExtractor.extractString(str, "response", "exists"))) {
+            res = false;
         }
-        return new AsyncResult<>(res);
+
+        return res;
     }
 }
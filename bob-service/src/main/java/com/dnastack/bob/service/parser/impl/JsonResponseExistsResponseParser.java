@@ -24,13 +24,12 @@
 package com.dnastack.bob.service.parser.impl;
 
 import com.dnastack.bob.persistence.entity.Beacon;
-import com.dnastack.bob.service.parser.api.ResponseParser;
-import com.dnastack.bob.service.parser.util.ParseUtils;
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.parser.api.InlineResponseParser;
+import com.dnastack.bob.service.parser.api.ResponseBody;
+import com.dnastack.bob.service.parser.util.JsonPathExtractor;
 import java.io.Serializable;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import javax.ejb.AsyncResult;
 import javax.ejb.Asynchronous;
 import javax.ejb.Local;
@@ -39,8 +38,6 @@ import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import static com.dnastack.bob.service.util.Constants.REQUEST_TIMEOUT;
-
 /**
  * Parses response->exists field from JSON.
  *
@@ -50,24 +47,22 @@ import static com.dnastack.bob.service.util.Constants.REQUEST_TIMEOUT;
 @Stateless
 @Named
 @Dependent
-@Local(ResponseParser.class)
-public class JsonResponseExistsResponseParser implements ResponseParser, Serializable {
+@Local(InlineResponseParser.class)
+public class JsonResponseExistsResponseParser implements InlineResponseParser, Serializable {
 
     private static final long serialVersionUID = 8528412790574916621L;
     @Inject
-    private ParseUtils parseUtils;
+    private JsonPathExtractor jsonPathExtractor;
 
     @Asynchronous
     @Override
-    public Future<Boolean> parseQueryResponse(Beacon b, Future<String> response) {
-        Boolean res = null;
-        try {
-            res = parseUtils.parseBooleanFromJson(response.get(REQUEST_TIMEOUT, TimeUnit.SECONDS), "response", "exists");
-        } catch (InterruptedException | ExecutionException | TimeoutException ex) {
-            // ignore
-        }
+    public Future<Boolean> parseQueryResponse(Beacon b, Future<String> response, Deadline deadline) {
+        return new AsyncResult<>(parse(b, ResponseBody.await(response, deadline)));
+    }
 
-        return new AsyncResult<>(res);
+    @Override
+    public Boolean parse(Beacon b, ResponseBody response) {
+        return jsonPathExtractor.extractBoolean(response.getText(), "response", "exists");
     }
 
 }
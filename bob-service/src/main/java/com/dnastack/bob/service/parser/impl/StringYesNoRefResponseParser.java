@@ -24,13 +24,12 @@
 package com.dnastack.bob.service.parser.impl;
 
 import com.dnastack.bob.persistence.entity.Beacon;
-import com.dnastack.bob.service.parser.api.ResponseParser;
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.parser.api.BoundedResponseParser;
+import com.dnastack.bob.service.parser.api.ResponseBody;
 import com.dnastack.bob.service.parser.util.ParseUtils;
 import java.io.Serializable;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import javax.ejb.AsyncResult;
 import javax.ejb.Asynchronous;
 import javax.ejb.Local;
@@ -39,8 +38,6 @@ import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import static com.dnastack.bob.service.util.Constants.REQUEST_TIMEOUT;
-
 /**
  * Parses "yes" and "no" strings with ref conversion.
  *
@@ -50,8 +47,8 @@ import static com.dnastack.bob.service.util.Constants.REQUEST_TIMEOUT;
 @Stateless
 @Named
 @Dependent
-@Local(ResponseParser.class)
-public class StringYesNoRefResponseParser implements ResponseParser, Serializable {
+@Local(BoundedResponseParser.class)
+public class StringYesNoRefResponseParser implements BoundedResponseParser, Serializable {
 
     private static final long serialVersionUID = -4790485566013440026L;
     @Inject
@@ -59,22 +56,27 @@ public class StringYesNoRefResponseParser implements ResponseParser, Serializabl
 
     @Asynchronous
     @Override
-    public Future<Boolean> parseQueryResponse(Beacon b, Future<String> response) {
-        Boolean res = null;
-        try {
-            String str = response.get(REQUEST_TIMEOUT, TimeUnit.SECONDS);
-            res = parseUtils.parseYesNoCaseInsensitive(str);
-            if (res == null) {
-                // ref response is treated as false
-                Boolean isRef = parseUtils.parseRef(str);
-                if (isRef != null && isRef) {
-                    res = false;
-                }
+    public Future<Boolean> parseQueryResponse(Beacon b, Future<String> response, Deadline deadline) {
+        return new AsyncResult<>(parse(b, ResponseBody.await(response, deadline)));
+    }
+
+    @Override
+    public Boolean parse(Beacon b, ResponseBody response) {
+        String str = response.getText();
+        Boolean res = parseUtils.parseYesNoCaseInsensitive(str);
+        if (res == null) {
+            // ref response is treated as false
+            Boolean isRef = parseUtils.parseRef(str);
+            if (isRef != null && isRef) {
+                res = false;
             }
-        } catch (InterruptedException | ExecutionException | TimeoutException ex) {
-            // ignore
         }
 
-        return new AsyncResult<>(res);
+        return res;
+    }
+
+    @Override
+    public int getResponseLimit() {
+        return 3;
     }
 }
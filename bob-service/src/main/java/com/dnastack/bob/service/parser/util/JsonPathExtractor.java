@@ -0,0 +1,191 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.parser.util;
+
+import java.io.Reader;
+import java.io.StringReader;
+import javax.enterprise.context.Dependent;
+import javax.inject.Named;
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+import javax.json.stream.JsonParserFactory;
+
+/**
+ * Extracts a single value out of a JSON document without building the document tree. The document is read as a stream
+ * and reading stops as soon as the value is found, so the rest of the document (e.g. details of datasets) is never
+ * parsed.
+ *
+ * A path is a list of keys starting at the root object. When a key maps to an array, the path continues in the first
+ * element of the array. Only the first occurrence of a key in an object is considered.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Dependent
+@Named
+public class JsonPathExtractor {
+
+    private static final JsonParserFactory PARSER_FACTORY = Json.createParserFactory(null);
+
+    private static void skipValue(JsonParser parser, Event start) {
+        if (start != Event.START_OBJECT && start != Event.START_ARRAY) {
+            return;
+        }
+
+        int depth = 1;
+        while (depth > 0) {
+            Event e = parser.next();
+            if (e == Event.START_OBJECT || e == Event.START_ARRAY) {
+                depth++;
+            } else if (e == Event.END_OBJECT || e == Event.END_ARRAY) {
+                depth--;
+            }
+        }
+    }
+
+    private static boolean findKey(JsonParser parser, String key) {
+        while (parser.hasNext()) {
+            Event e = parser.next();
+            if (e == Event.END_OBJECT) {
+                return false;
+            }
+            // e is a key name, skip its value unless it is the one we look for
+            if (key.equals(parser.getString())) {
+                return true;
+            }
+            skipValue(parser, parser.next());
+        }
+
+        return false;
+    }
+
+    /**
+     * Moves the parser to the value at the given path.
+     *
+     * @param parser parser positioned before the root of the document
+     * @param path   list of keys determining the path to the value
+     *
+     * @return event of the value or null if the path leads to an object or it is not there
+     */
+    private static Event moveTo(JsonParser parser, String... path) {
+        if (!parser.hasNext() || parser.next() != Event.START_OBJECT) {
+            return null;
+        }
+
+        for (String key : path) {
+            if (!findKey(parser, key)) {
+                return null;
+            }
+            Event e = parser.next();
+            if (e == Event.START_ARRAY) {
+                e = parser.next();
+            }
+            if (e != Event.START_OBJECT) {
+                return (e == Event.END_ARRAY) ? null : e;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Extracts a boolean value. Strings "true" and "false" are accepted as well (case insensitive).
+     *
+     * @param json JSON document
+     * @param path list of keys determining the path to the value
+     *
+     * @return value if it is true/false, null otherwise
+     */
+    public Boolean extractBoolean(Reader json, String... path) {
+        try (JsonParser parser = PARSER_FACTORY.createParser(json)) {
+            Event e = moveTo(parser, path);
+            if (e == Event.VALUE_TRUE) {
+                return true;
+            }
+            if (e == Event.VALUE_FALSE) {
+                return false;
+            }
+            if (e == Event.VALUE_STRING) {
+                String s = parser.getString();
+                if ("true".equalsIgnoreCase(s)) {
+                    return true;
+                }
+                if ("false".equalsIgnoreCase(s)) {
+                    return false;
+                }
+            }
+        } catch (JsonException ex) {
+            // not a valid JSON document
+        }
+
+        return null;
+    }
+
+    /**
+     * Extracts a string value.
+     *
+     * @param json JSON document
+     * @param path list of keys determining the path to the value
+     *
+     * @return value if it is a string, null otherwise
+     */
+    public String extractString(Reader json, String... path) {
+        try (JsonParser parser = PARSER_FACTORY.createParser(json)) {
+            if (moveTo(parser, path) == Event.VALUE_STRING) {
+                return parser.getString();
+            }
+        } catch (JsonException ex) {
+            // not a valid JSON document
+        }
+
+        return null;
+    }
+
+    /**
+     * Extracts a boolean value. Strings "true" and "false" are accepted as well (case insensitive).
+     *
+     * @param json JSON document
+     * @param path list of keys determining the path to the value
+     *
+     * @return value if it is true/false, null otherwise (also if the document is null)
+     */
+    public Boolean extractBoolean(String json, String... path) {
+        return (json == null) ? null : extractBoolean(new StringReader(json), path);
+    }
+
+    /**
+     * Extracts a string value.
+     *
+     * @param json JSON document
+     * @param path list of keys determining the path to the value
+     *
+     * @return value if it is a string, null otherwise (also if the document is null)
+     */
+    public String extractString(String json, String... path) {
+        return (json == null) ? null : extractString(new StringReader(json), path);
+    }
+
+}
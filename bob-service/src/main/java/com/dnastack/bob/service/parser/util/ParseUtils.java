@@ -28,10 +28,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
 import javax.inject.Named;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 
 /**
  * Utils for parsing query responses.
@@ -43,6 +41,9 @@ import org.json.JSONObject;
 @Named
 public class ParseUtils {
 
+    @Inject
+    private JsonPathExtractor jsonPathExtractor;
+
     /**
      * Checks whether a given response contains the specified string (found/not found), case insensitive.
      *
@@ -57,11 +58,10 @@ public class ParseUtils {
             return null;
         }
 
-        String s = response.toLowerCase();
-        if (s.contains(trueString)) {
+        if (containsIgnoreCase(response, trueString)) {
             return true;
         }
-        if (s.contains(falseString)) {
+        if (containsIgnoreCase(response, falseString)) {
             return false;
         }
 
@@ -82,11 +82,10 @@ public class ParseUtils {
             return null;
         }
 
-        String s = response.toLowerCase();
-        if (s.startsWith(trueString)) {
+        if (response.regionMatches(true, 0, trueString, 0, trueString.length())) {
             return true;
         }
-        if (s.startsWith(falseString)) {
+        if (response.regionMatches(true, 0, falseString, 0, falseString.length())) {
             return false;
         }
 
@@ -116,7 +115,7 @@ public class ParseUtils {
             return null;
         }
 
-        return response.toLowerCase().startsWith("ref");
+        return response.regionMatches(true, 0, "ref", 0, 3);
     }
 
     /**
@@ -128,42 +127,7 @@ public class ParseUtils {
      * @return field value if it is true/false, null otherwise
      */
     public Boolean parseBooleanFromJson(String response, String... path) {
-        if (response == null) {
-            return null;
-        }
-
-        try {
-            JSONObject jo = new JSONObject(response);
-            JSONObject current = null;
-            for (String s : path) {
-                current = jo.optJSONObject(s);
-                if (current == null) {
-                    JSONArray a = jo.optJSONArray(s);
-                    if (a != null) {
-                        current = a.optJSONObject(0);
-                        if (current == null) {
-                            try {
-                                return a.getBoolean(0);
-                            } catch (JSONException jex) {
-                                return null;
-                            }
-                        }
-                    }
-                }
-                if (current == null) {
-                    try {
-                        return jo.getBoolean(s);
-                    } catch (JSONException jex) {
-                        return null;
-                    }
-                }
-                jo = current;
-            }
-        } catch (JSONException ex) {
-            return null;
-        }
-
-        return null;
+        return jsonPathExtractor.extractBoolean(response, path);
     }
 
     /**
@@ -175,42 +139,21 @@ public class ParseUtils {
      * @return field value if it is true/false, null otherwise
      */
     public String parseStringFromJson(String response, String... path) {
-        if (response == null) {
-            return null;
-        }
+        return jsonPathExtractor.extractString(response, path);
+    }
 
-        try {
-            JSONObject jo = new JSONObject(response);
-            JSONObject current = null;
-            for (String s : path) {
-                current = jo.optJSONObject(s);
-                if (current == null) {
-                    JSONArray a = jo.optJSONArray(s);
-                    if (a != null) {
-                        current = a.optJSONObject(0);
-                        if (current == null) {
-                            try {
-                                return a.getString(0);
-                            } catch (JSONException jex) {
-                                return null;
-                            }
-                        }
-                    }
-                }
-                if (current == null) {
-                    try {
-                        return jo.getString(s);
-                    } catch (JSONException jex) {
-                        return null;
-                    }
-                }
-                jo = current;
+    private static boolean containsIgnoreCase(String s, String sub) {
+        for (int i = 0, last = s.length() - sub.length(); i <= last; i++) {
+            if (s.regionMatches(true, i, sub, 0, sub.length())) {
+                return true;
             }
-        } catch (JSONException ex) {
-            return null;
         }
 
-        return null;
+        return false;
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
     }
 
     /**
@@ -225,7 +168,18 @@ public class ParseUtils {
             throw new NullPointerException("param");
         }
 
-        return param.matches("\\[(((\\w)*-(\\w)*)*(\\w)*,)*((\\w)*-(\\w)*)*(\\w)*\\]");
+        // [values], each made of word characters and hyphens, separated by commas
+        if (param.length() < 2 || param.charAt(0) != '[' || param.charAt(param.length() - 1) != ']') {
+            return false;
+        }
+        for (int i = 1; i < param.length() - 1; i++) {
+            char c = param.charAt(i);
+            if (!(isAlphanumeric(c) || c == '_' || c == '-' || c == ',')) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
@@ -240,7 +194,14 @@ public class ParseUtils {
             throw new NullPointerException("param");
         }
 
-        return param.matches("[-a-zA-Z0-9]*");
+        for (int i = 0; i < param.length(); i++) {
+            char c = param.charAt(i);
+            if (!(isAlphanumeric(c) || c == '-')) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     /**
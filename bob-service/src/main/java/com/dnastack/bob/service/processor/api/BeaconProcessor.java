@@ -25,6 +25,9 @@ package com.dnastack.bob.service.processor.api;
 
 import com.dnastack.bob.persistence.entity.Beacon;
 import com.dnastack.bob.persistence.entity.Query;
+import com.dnastack.bob.service.api.Deadline;
+import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.Future;
 
 /**
@@ -38,11 +41,26 @@ public interface BeaconProcessor {
     /**
      * Asynchronously executes a query agaist a beacon.
      *
-     * @param beacon beacon
-     * @param query  query
+     * @param beacon   beacon
+     * @param query    query
+     * @param deadline time by which the query has to complete
      *
      * @return true/false according to the beacons response (or null if the valid response could not be obtained)
      */
-    Future<Boolean> executeQuery(Beacon beacon, Query query);
+    Future<Boolean> executeQuery(Beacon beacon, Query query, Deadline deadline);
+
+    /**
+     * Asynchronously executes multiple queries against a beacon taking several variants per request (see
+     * {@link com.dnastack.bob.service.processor.util.ExecutionPlan#isMultiVariant()}), using as few requests as the
+     * beacon allows. Every request is subject to the circuit breaker, bulkhead and timeout of the beacon, like a single
+     * query. Other beacons are not queried.
+     *
+     * @param beacon   beacon
+     * @param queries  queries
+     * @param deadline time by which the queries have to complete
+     *
+     * @return responses to the queries, queries without a valid response are missing or mapped to null
+     */
+    Future<Map<Query, Boolean>> executeQueries(Beacon beacon, Collection<Query> queries, Deadline deadline);
 
 }
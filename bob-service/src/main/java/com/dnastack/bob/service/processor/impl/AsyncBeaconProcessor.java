@@ -0,0 +1,316 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 Miroslav Cupak (mirocupak@gmail.com).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.processor.impl;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.entity.Query;
+import com.dnastack.bob.persistence.enumerated.Reference;
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.fetcher.api.ResponseFetcher;
+import com.dnastack.bob.service.fetcher.util.AsyncHttpUtils;
+import com.dnastack.bob.service.fetcher.util.RequestHedger;
+import com.dnastack.bob.service.parser.api.InlineMultiVariantResponseParser;
+import com.dnastack.bob.service.parser.api.InlineResponseParser;
+import com.dnastack.bob.service.parser.api.ResponseBody;
+import com.dnastack.bob.service.processor.api.BeaconProcessor;
+import com.dnastack.bob.service.processor.util.BeaconQueryGate;
+import com.dnastack.bob.service.processor.util.ExecutionPlan;
+import com.dnastack.bob.service.processor.util.ExecutionPlanner;
+import com.dnastack.bob.service.processor.util.QueryTranslator;
+import com.dnastack.bob.service.processor.util.ReferenceOrder;
+import com.dnastack.bob.service.processor.util.TranslatedQuery;
+import com.dnastack.bob.service.processor.util.VariantBatch;
+import com.dnastack.bob.service.requester.api.MultiReferenceRequestConstructor;
+import com.dnastack.bob.service.requester.api.RequestConstructor;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Alternative;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.naming.NamingException;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.jboss.logging.Logger;
+
+import static com.dnastack.bob.service.util.Constants.SEQUENTIAL_REFERENCES;
+
+/**
+ * Beacon processor built on non-blocking HTTP. Fetching, parsing and collecting results are chained as callbacks, so no
+ * thread is parked while a beacon is being queried. Only parsers that can be invoked inline
+ * ({@link InlineResponseParser} and {@link InlineMultiVariantResponseParser}) are supported, as waiting for an
+ * asynchronous parser would hold a thread; beacons with other parsers get no response. Enable it as an alternative in
+ * beans.xml to replace {@link ParallelBeaconProcessor}.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+@Alternative
+public class AsyncBeaconProcessor implements BeaconProcessor, Serializable {
+
+    private static final long serialVersionUID = 11L;
+
+    @Inject
+    private ExecutionPlanner planner;
+
+    @Inject
+    private AsyncHttpUtils httpUtils;
+
+    @Inject
+    private RequestHedger hedger;
+
+    @Inject
+    private BeaconQueryGate gate;
+
+    @Inject
+    private Logger logger;
+
+    @Resource
+    private transient ManagedExecutorService executor;
+
+    private List<HttpRequestBase> createRequests(Beacon beacon, ExecutionPlan plan, Query query, List<Reference> refs) {
+        List<HttpRequestBase> rs = new ArrayList<>();
+
+        ResponseFetcher fetcher = plan.getFetcher();
+        RequestConstructor requester = plan.getRequester();
+        QueryTranslator translator = plan.getTranslator();
+        TranslatedQuery q = translator.translate(query);
+
+        try {
+            if (refs.size() > 1 && plan.isMultiReference(beacon)) {
+                // all the refs in one request
+                MultiReferenceRequestConstructor multiRequester = (MultiReferenceRequestConstructor) requester;
+                List<String> refIds = translator.translateReferences(refs);
+                rs.add(fetcher.createRequest(multiRequester.getUrl(beacon, refIds, q.getChromosome(), q.getPosition(), q.getAllele(), null), multiRequester.getPayload(beacon, refIds, q.getChromosome(), q.getPosition(), q.getAllele(), null)));
+            } else {
+                for (Reference ref : refs) {
+                    String r = translator.translateReference(ref);
+                    rs.add(fetcher.createRequest(requester.getUrl(beacon, r, q.getChromosome(), q.getPosition(), q.getAllele(), null), requester.getPayload(beacon, r, q.getChromosome(), q.getPosition(), q.getAllele(), null)));
+                }
+            }
+        } catch (UnsupportedEncodingException ex) {
+            logger.error(ex.getMessage());
+        }
+
+        return rs;
+    }
+
+    private ListenableFuture<Boolean> parseResult(final Beacon beacon, final InlineResponseParser parser, ListenableFuture<String> response) {
+        // the response is already there when the parser is invoked, so parsing never waits for the network
+        return Futures.transform(response, new Function<String, Boolean>() {
+
+            @Override
+            public Boolean apply(String input) {
+                return parser.parse(beacon, new ResponseBody(input));
+            }
+        }, executor);
+    }
+
+    private ListenableFuture<Boolean> collectResults(List<ListenableFuture<Boolean>> bs) {
+        return Futures.transform(Futures.successfulAsList(bs), new Function<List<Boolean>, Boolean>() {
+
+            @Override
+            public Boolean apply(List<Boolean> input) {
+                Boolean res = null;
+                for (Boolean r : input) {
+                    if (r != null) {
+                        if (r) {
+                            return r;
+                        } else if (res == null) {
+                            res = r;
+                        }
+                    }
+                }
+
+                return res;
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public Future<Boolean> executeQuery(final Beacon beacon, Query query, Deadline deadline) {
+        if (query == null) {
+            return Futures.<Boolean>immediateFuture(null);
+        }
+
+        ExecutionPlan plan;
+        try {
+            plan = planner.getPlan(beacon);
+        } catch (ClassNotFoundException | NamingException ex) {
+            logger.error(ex.getMessage());
+            return Futures.<Boolean>immediateFuture(null);
+        }
+
+        final List<HttpRequestBase> requests = createRequests(beacon, plan, query, ReferenceOrder.getReferences(beacon, query));
+        if (requests.isEmpty()) {
+            // reference not supported by the beacon, nothing to ask
+            return Futures.<Boolean>immediateFuture(null);
+        }
+
+        if (!(plan.getParser() instanceof InlineResponseParser)) {
+            // waiting for an asynchronous parser would hold a thread
+            logger.warn("Parser of beacon " + beacon.getId() + " cannot be invoked inline, query skipped");
+            return Futures.<Boolean>immediateFuture(null);
+        }
+
+        final InlineResponseParser parser = (InlineResponseParser) plan.getParser();
+        final int limit = plan.getResponseLimit();
+        return gate.submit(beacon, deadline, new AsyncFunction<Deadline, Boolean>() {
+
+            @Override
+            public ListenableFuture<Boolean> apply(Deadline d) {
+                return query(beacon, parser, requests, limit, d);
+            }
+        });
+    }
+
+    private ListenableFuture<Boolean> queryInOrder(final Beacon beacon, final InlineResponseParser parser, final Iterator<HttpRequestBase> requests, final Deadline deadline, final Function<HttpRequestBase, ListenableFuture<String>> transport) {
+        // a failed request counts as no response rather than failing the whole chain
+        ListenableFuture<Boolean> res = collectResults(Collections.singletonList(parseResult(beacon, parser, hedger.execute(beacon, requests.next(), deadline, transport))));
+        if (!requests.hasNext()) {
+            return res;
+        }
+
+        // most likely hits first, the remaining refs are not asked once one is positive
+        return Futures.transform(res, new AsyncFunction<Boolean, Boolean>() {
+
+            @Override
+            public ListenableFuture<Boolean> apply(final Boolean input) {
+                if ((input != null && input) || deadline.isExpired()) {
+                    return Futures.immediateFuture(input);
+                }
+
+                return Futures.transform(queryInOrder(beacon, parser, requests, deadline, transport), new Function<Boolean, Boolean>() {
+
+                    @Override
+                    public Boolean apply(Boolean r) {
+                        return (r == null) ? input : r;
+                    }
+                }, MoreExecutors.directExecutor());
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private ListenableFuture<Boolean> query(Beacon beacon, InlineResponseParser parser, List<HttpRequestBase> requests, final int limit, final Deadline d) {
+        Function<HttpRequestBase, ListenableFuture<String>> transport = new Function<HttpRequestBase, ListenableFuture<String>>() {
+
+            @Override
+            public ListenableFuture<String> apply(HttpRequestBase input) {
+                return httpUtils.executeRequest(input, d, limit);
+            }
+        };
+        if (SEQUENTIAL_REFERENCES) {
+            return queryInOrder(beacon, parser, requests.iterator(), d, transport);
+        }
+
+        List<ListenableFuture<Boolean>> bs = new ArrayList<>();
+        for (HttpRequestBase request : requests) {
+            bs.add(parseResult(beacon, parser, hedger.execute(beacon, request, d, transport)));
+        }
+
+        return collectResults(bs);
+    }
+
+    private ListenableFuture<List<Boolean>> parseResults(final Beacon beacon, final InlineMultiVariantResponseParser parser, final int variants, ListenableFuture<String> response) {
+        return Futures.transform(response, new Function<String, List<Boolean>>() {
+
+            @Override
+            public List<Boolean> apply(String input) {
+                return parser.parse(beacon, new ResponseBody(input), variants);
+            }
+        }, executor);
+    }
+
+    private ListenableFuture<List<Boolean>> queryBatch(final Beacon beacon, final InlineMultiVariantResponseParser parser, final int variants, final HttpRequestBase request, Deadline deadline) {
+        // the same gates as a single query, for every request
+        return gate.submit(beacon, deadline, new AsyncFunction<Deadline, List<Boolean>>() {
+
+            @Override
+            public ListenableFuture<List<Boolean>> apply(Deadline d) {
+                return parseResults(beacon, parser, variants, httpUtils.executeRequest(request, d));
+            }
+        });
+    }
+
+    @Override
+    public Future<Map<Query, Boolean>> executeQueries(Beacon beacon, Collection<Query> queries, Deadline deadline) {
+        ExecutionPlan plan;
+        try {
+            plan = planner.getPlan(beacon);
+        } catch (ClassNotFoundException | NamingException ex) {
+            logger.error(ex.getMessage());
+            return Futures.<Map<Query, Boolean>>immediateFuture(new HashMap<Query, Boolean>());
+        }
+        if (!plan.isMultiVariant()) {
+            return Futures.<Map<Query, Boolean>>immediateFuture(new HashMap<Query, Boolean>());
+        }
+
+        if (!(plan.getParser() instanceof InlineMultiVariantResponseParser)) {
+            // waiting for an asynchronous parser would hold a thread
+            logger.warn("Parser of beacon " + beacon.getId() + " cannot be invoked inline, queries skipped");
+            return Futures.<Map<Query, Boolean>>immediateFuture(new HashMap<Query, Boolean>());
+        }
+
+        InlineMultiVariantResponseParser parser = (InlineMultiVariantResponseParser) plan.getParser();
+        final List<VariantBatch> batches = VariantBatch.create(beacon, plan, queries);
+        List<ListenableFuture<List<Boolean>>> bs = new ArrayList<>();
+        for (VariantBatch vb : batches) {
+            try {
+                bs.add(queryBatch(beacon, parser, vb.getQueries().size(), plan.getFetcher().createRequest(vb.getUrl(), vb.getPayload()), deadline));
+            } catch (UnsupportedEncodingException ex) {
+                logger.error(ex.getMessage());
+                bs.add(Futures.<List<Boolean>>immediateFuture(null));
+            }
+        }
+
+        return Futures.transform(Futures.successfulAsList(bs), new Function<List<List<Boolean>>, Map<Query, Boolean>>() {
+
+            @Override
+            public Map<Query, Boolean> apply(List<List<Boolean>> input) {
+                Map<Query, Boolean> res = new HashMap<>();
+                for (int i = 0; i < batches.size(); i++) {
+                    batches.get(i).collect(res, input.get(i));
+                }
+
+                return res;
+            }
+        }, MoreExecutors.directExecutor());
+    }
+}
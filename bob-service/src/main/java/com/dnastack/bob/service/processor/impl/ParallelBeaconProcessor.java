@@ -26,24 +26,39 @@ package com.dnastack.bob.service.processor.impl;
 import com.dnastack.bob.persistence.entity.Beacon;
 import com.dnastack.bob.persistence.entity.Query;
 import com.dnastack.bob.persistence.enumerated.Reference;
-import com.dnastack.bob.service.converter.api.AlleleConverter;
-import com.dnastack.bob.service.converter.api.ChromosomeConverter;
-import com.dnastack.bob.service.converter.api.PositionConverter;
-import com.dnastack.bob.service.converter.api.ReferenceConverter;
-import com.dnastack.bob.service.converter.impl.EmptyAlleleConverter;
-import com.dnastack.bob.service.converter.impl.EmptyChromosomeConverter;
-import com.dnastack.bob.service.converter.impl.EmptyPositionConverter;
-import com.dnastack.bob.service.converter.impl.EmptyReferenceConverter;
+import com.dnastack.bob.service.api.Deadline;
 import com.dnastack.bob.service.fetcher.api.ResponseFetcher;
-import com.dnastack.bob.service.parser.api.ResponseParser;
+import com.dnastack.bob.service.fetcher.util.FetchExecutor;
+import com.dnastack.bob.service.fetcher.util.HttpUtils;
+import com.dnastack.bob.service.fetcher.util.RequestHedger;
+import com.dnastack.bob.service.parser.api.InlineResponseParser;
+import com.dnastack.bob.service.parser.api.MultiVariantResponseParser;
+import com.dnastack.bob.service.parser.api.ResponseBody;
 import com.dnastack.bob.service.processor.api.BeaconProcessor;
+import com.dnastack.bob.service.processor.util.BeaconQueryGate;
+import com.dnastack.bob.service.processor.util.ExecutionPlan;
+import com.dnastack.bob.service.processor.util.ExecutionPlanner;
+import com.dnastack.bob.service.processor.util.QueryTranslator;
+import com.dnastack.bob.service.processor.util.ReferenceOrder;
+import com.dnastack.bob.service.processor.util.TranslatedQuery;
+import com.dnastack.bob.service.processor.util.VariantBatch;
+import com.dnastack.bob.service.requester.api.MultiReferenceRequestConstructor;
 import com.dnastack.bob.service.requester.api.RequestConstructor;
-import com.dnastack.bob.service.util.CdiBeanResolver;
-import com.dnastack.bob.service.util.EjbResolver;
+import com.google.common.base.Function;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
 import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -56,9 +71,10 @@ import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.naming.NamingException;
+import org.apache.http.client.methods.HttpRequestBase;
 import org.jboss.logging.Logger;
 
-import static com.dnastack.bob.service.util.Constants.REQUEST_TIMEOUT;
+import static com.dnastack.bob.service.util.Constants.SEQUENTIAL_REFERENCES;
 
 /**
  * Beacon service handling multiple genome specific queries.
@@ -75,68 +91,109 @@ public class ParallelBeaconProcessor implements BeaconProcessor, Serializable {
     private static final long serialVersionUID = 10L;
 
     @Inject
-    private CdiBeanResolver cdiResolver;
+    private ExecutionPlanner planner;
 
     @Inject
-    private EjbResolver ejbResolver;
+    private RequestHedger hedger;
+
+    @Inject
+    private BeaconQueryGate gate;
+
+    @Inject
+    private HttpUtils httpUtils;
+
+    @Inject
+    private FetchExecutor fetchExecutor;
 
     @Inject
     private Logger logger;
 
-    private List<Future<String>> executeQueriesInParallel(Beacon beacon, Query query) {
-        List<Future<String>> fs = new ArrayList<>();
+    private Future<String> fetch(Beacon beacon, ExecutionPlan plan, String url, Map<String, String> payload, final Deadline deadline) {
+        ResponseFetcher fetcher = plan.getFetcher();
+        final int limit = plan.getResponseLimit();
+        if (!hedger.isHedged(beacon) && limit < 0 && !plan.isInlineParser()) {
+            return fetcher.getQueryResponse(url, payload, deadline);
+        }
 
-        ResponseFetcher fetcher;
-        RequestConstructor requester;
-        ChromosomeConverter chromosomeConverter;
-        ReferenceConverter referenceConverter;
-        PositionConverter positionConverter;
-        AlleleConverter alleleConverter;
+        // hedged requests have to be abortable, bounded ones cut short and the ones parsed inline listenable, so they are executed here rather than in the fetcher
         try {
-            fetcher = (ResponseFetcher) ejbResolver.resolve(beacon.getFetcher());
-            requester = (RequestConstructor) cdiResolver.resolve(beacon.getRequester());
-            chromosomeConverter = (ChromosomeConverter) cdiResolver.resolve(beacon.getChromosomeConverter());
-            if (chromosomeConverter == null) {
-                chromosomeConverter = (ChromosomeConverter) cdiResolver.resolve(cdiResolver.getClassId(EmptyChromosomeConverter.class));
-            }
-            referenceConverter = (ReferenceConverter) cdiResolver.resolve(beacon.getReferenceConverter());
-            if (referenceConverter == null) {
-                referenceConverter = (ReferenceConverter) cdiResolver.resolve(cdiResolver.getClassId(EmptyReferenceConverter.class));
-            }
-            positionConverter = (PositionConverter) cdiResolver.resolve(beacon.getPositionConverter());
-            if (positionConverter == null) {
-                positionConverter = (PositionConverter) cdiResolver.resolve(cdiResolver.getClassId(EmptyPositionConverter.class));
-            }
-            alleleConverter = (AlleleConverter) cdiResolver.resolve(beacon.getAlleleConverter());
-            if (alleleConverter == null) {
-                alleleConverter = (AlleleConverter) cdiResolver.resolve(cdiResolver.getClassId(EmptyAlleleConverter.class));
+            return hedger.execute(beacon, fetcher.createRequest(url, payload), deadline, new Function<HttpRequestBase, ListenableFuture<String>>() {
+
+                @Override
+                public ListenableFuture<String> apply(HttpRequestBase input) {
+                    return httpUtils.executeRequest(input, deadline, limit, fetchExecutor);
+                }
+            });
+        } catch (UnsupportedEncodingException ex) {
+            logger.error(ex.getMessage());
+            return new AsyncResult<>(null);
+        }
+    }
+
+    private Future<String> request(Beacon beacon, ExecutionPlan plan, Query query, List<Reference> refs, Deadline deadline) {
+        RequestConstructor requester = plan.getRequester();
+        QueryTranslator translator = plan.getTranslator();
+        TranslatedQuery q = translator.translate(query);
+
+        if (refs.size() > 1) {
+            // all the refs in one request
+            MultiReferenceRequestConstructor multiRequester = (MultiReferenceRequestConstructor) requester;
+            List<String> rs = translator.translateReferences(refs);
+            return fetch(beacon, plan, multiRequester.getUrl(beacon, rs, q.getChromosome(), q.getPosition(), q.getAllele(), null), multiRequester.getPayload(beacon, rs, q.getChromosome(), q.getPosition(), q.getAllele(), null), deadline);
+        }
+
+        String r = translator.translateReference(refs.get(0));
+        return fetch(beacon, plan, requester.getUrl(beacon, r, q.getChromosome(), q.getPosition(), q.getAllele(), null), requester.getPayload(beacon, r, q.getChromosome(), q.getPosition(), q.getAllele(), null), deadline);
+    }
+
+    private Boolean queryReferences(Beacon beacon, ExecutionPlan plan, Query query, List<Reference> refs, Deadline deadline) {
+        List<List<Reference>> requests = new ArrayList<>();
+        if (refs.size() > 1 && plan.isMultiReference(beacon)) {
+            requests.add(refs);
+        } else {
+            requests.addAll(Lists.partition(refs, 1));
+        }
+
+        if (!SEQUENTIAL_REFERENCES) {
+            List<Future<String>> fs = new ArrayList<>();
+            for (List<Reference> rs : requests) {
+                fs.add(request(beacon, plan, query, rs, deadline));
             }
-        } catch (ClassNotFoundException | NamingException ex) {
-            return fs;
+            return collectResults(parseResultsInParallel(beacon, plan, fs, deadline), deadline);
         }
 
-        if (query.getReference() == null) {
-            // query all refs
-            for (Reference ref : beacon.getSupportedReferences()) {
-                String url = requester.getUrl(beacon, referenceConverter.convert(ref), chromosomeConverter.convert(query.getChromosome()), positionConverter.convert(query.getPosition()), alleleConverter.convert(query.getAllele()), null);
-                Map<String, String> payload = requester.getPayload(beacon, referenceConverter.convert(ref), chromosomeConverter.convert(query.getChromosome()), positionConverter.convert(query.getPosition()), alleleConverter.convert(query.getAllele()), null);
-                fs.add(fetcher.getQueryResponse(url, payload));
+        // most likely hits first, the remaining refs are not asked once one is positive
+        Boolean res = null;
+        for (List<Reference> rs : requests) {
+            Boolean r = collectResults(parseResultsInParallel(beacon, plan, Collections.singletonList(request(beacon, plan, query, rs, deadline)), deadline), deadline);
+            if (r != null && (r || res == null)) {
+                res = r;
+            }
+            if ((res != null && res) || deadline.isExpired()) {
+                break;
             }
-        } else if (beacon.getSupportedReferences().contains(query.getReference())) {
-            // query only the specified ref
-            String url = requester.getUrl(beacon, referenceConverter.convert(query.getReference()), chromosomeConverter.convert(query.getChromosome()), positionConverter.convert(query.getPosition()), alleleConverter.convert(query.getAllele()), null);
-            Map<String, String> payload = requester.getPayload(beacon, referenceConverter.convert(query.getReference()), chromosomeConverter.convert(query.getChromosome()), positionConverter.convert(query.getPosition()), alleleConverter.convert(query.getAllele()), null);
-            fs.add(fetcher.getQueryResponse(url, payload));
         }
 
-        return fs;
+        return res;
     }
 
-    private List<Future<Boolean>> parseResultsInParallel(Beacon b, List<Future<String>> fs) {
+    private List<Future<Boolean>> parseResultsInParallel(final Beacon b, ExecutionPlan plan, List<Future<String>> fs, Deadline deadline) {
         List<Future<Boolean>> bs = new ArrayList<>();
         for (Future<String> f : fs) {
             try {
-                bs.add(((ResponseParser) ejbResolver.resolve(b.getParser())).parseQueryResponse(b, f));
+                if (plan.isInlineParser() && f instanceof ListenableFuture) {
+                    // parsed on the thread completing the request, no parser thread waits for the response
+                    final InlineResponseParser parser = (InlineResponseParser) plan.getParser();
+                    bs.add(Futures.transform((ListenableFuture<String>) f, new Function<String, Boolean>() {
+
+                        @Override
+                        public Boolean apply(String input) {
+                            return parser.parse(b, new ResponseBody(input));
+                        }
+                    }));
+                } else {
+                    bs.add(plan.getParser().parseQueryResponse(b, f, deadline));
+                }
             } catch (Exception ex) {
                 logger.error(ex.getMessage());
             }
@@ -145,13 +202,13 @@ public class ParallelBeaconProcessor implements BeaconProcessor, Serializable {
         return bs;
     }
 
-    private Boolean collectResults(List<Future<Boolean>> bs) {
+    private Boolean collectResults(List<Future<Boolean>> bs, Deadline deadline) {
         Boolean res = null;
 
         for (Future<Boolean> b : bs) {
             Boolean r = null;
             try {
-                r = b.get(REQUEST_TIMEOUT, TimeUnit.SECONDS);
+                r = b.get(deadline.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
             } catch (InterruptedException | ExecutionException | TimeoutException ex) {
                 logger.error(ex.getMessage());
             }
@@ -172,10 +229,81 @@ public class ParallelBeaconProcessor implements BeaconProcessor, Serializable {
 
     @Override
     @Asynchronous
-    public Future<Boolean> executeQuery(Beacon beacon, Query query) {
-        Boolean res = null;
-        if (query != null) {
-            res = collectResults(parseResultsInParallel(beacon, executeQueriesInParallel(beacon, query)));
+    public Future<Boolean> executeQuery(final Beacon beacon, final Query query, Deadline deadline) {
+        if (query == null) {
+            return new AsyncResult<>(null);
+        }
+        final ExecutionPlan plan;
+        try {
+            plan = planner.getPlan(beacon);
+        } catch (ClassNotFoundException | NamingException ex) {
+            return new AsyncResult<>(null);
+        }
+        final List<Reference> refs = ReferenceOrder.getReferences(beacon, query);
+        if (refs.isEmpty()) {
+            // reference not supported by the beacon, nothing to ask
+            return new AsyncResult<>(null);
+        }
+
+        return new AsyncResult<>(gate.call(beacon, deadline, new Function<Deadline, Boolean>() {
+
+            @Override
+            public Boolean apply(Deadline d) {
+                return queryReferences(beacon, plan, query, refs, d);
+            }
+        }));
+    }
+
+    private List<Boolean> queryBatch(Beacon beacon, ExecutionPlan plan, VariantBatch vb, Deadline d) {
+        try {
+            String r = httpUtils.executeRequest(plan.getFetcher().createRequest(vb.getUrl(), vb.getPayload()), d);
+            return r == null ? null : ((MultiVariantResponseParser) plan.getParser()).parseQueryResponses(beacon, new AsyncResult<>(r), vb.getQueries().size(), d).get(d.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+        } catch (UnsupportedEncodingException | InterruptedException | ExecutionException | TimeoutException ex) {
+            logger.error(ex.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    @Asynchronous
+    public Future<Map<Query, Boolean>> executeQueries(final Beacon beacon, Collection<Query> queries, final Deadline deadline) {
+        Map<Query, Boolean> res = new HashMap<>();
+        final ExecutionPlan plan;
+        try {
+            plan = planner.getPlan(beacon);
+        } catch (ClassNotFoundException | NamingException ex) {
+            return new AsyncResult<>(res);
+        }
+        if (!plan.isMultiVariant()) {
+            return new AsyncResult<>(res);
+        }
+
+        // every request gets its own slot in the bulkhead, and is submitted only once admitted
+        List<VariantBatch> batches = VariantBatch.create(beacon, plan, queries);
+        List<Future<List<Boolean>>> fs = new ArrayList<>();
+        for (final VariantBatch vb : batches) {
+            fs.add(gate.submit(beacon, deadline, new AsyncFunction<Deadline, List<Boolean>>() {
+
+                @Override
+                public ListenableFuture<List<Boolean>> apply(final Deadline d) {
+                    ListenableFutureTask<List<Boolean>> f = ListenableFutureTask.create(new Callable<List<Boolean>>() {
+
+                        @Override
+                        public List<Boolean> call() {
+                            return queryBatch(beacon, plan, vb, d);
+                        }
+                    });
+                    fetchExecutor.execute(f);
+                    return f;
+                }
+            }));
+        }
+        for (int i = 0; i < batches.size(); i++) {
+            try {
+                batches.get(i).collect(res, fs.get(i).get(deadline.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS));
+            } catch (InterruptedException | ExecutionException | TimeoutException ex) {
+                logger.error(ex.getMessage());
+            }
         }
 
         return new AsyncResult<>(res);
@@ -0,0 +1,352 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.processor.impl;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.entity.Query;
+import com.dnastack.bob.persistence.enumerated.Reference;
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.fetcher.api.ResponseFetcher;
+import com.dnastack.bob.service.fetcher.util.HostLimiter;
+import com.dnastack.bob.service.fetcher.util.HttpUtils;
+import com.dnastack.bob.service.fetcher.util.RequestHedger;
+import com.dnastack.bob.service.parser.api.InlineResponseParser;
+import com.dnastack.bob.service.parser.api.MultiVariantResponseParser;
+import com.dnastack.bob.service.parser.api.ResponseBody;
+import com.dnastack.bob.service.parser.api.ResponseParser;
+import com.dnastack.bob.service.processor.api.BeaconProcessor;
+import com.dnastack.bob.service.processor.util.BeaconQueryGate;
+import com.dnastack.bob.service.processor.util.ExecutionPlan;
+import com.dnastack.bob.service.processor.util.ExecutionPlanner;
+import com.dnastack.bob.service.processor.util.QueryTranslator;
+import com.dnastack.bob.service.processor.util.ReferenceOrder;
+import com.dnastack.bob.service.processor.util.TranslatedQuery;
+import com.dnastack.bob.service.processor.util.VariantBatch;
+import com.dnastack.bob.service.requester.api.MultiReferenceRequestConstructor;
+import com.dnastack.bob.service.requester.api.RequestConstructor;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.Serializable;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Resource;
+import javax.ejb.AsyncResult;
+import javax.enterprise.concurrent.ManagedThreadFactory;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Alternative;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.naming.NamingException;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.jboss.logging.Logger;
+
+import static com.dnastack.bob.service.util.Constants.SEQUENTIAL_REFERENCES;
+
+/**
+ * Beacon processor starting a new thread for every beacon query and every upstream request instead of taking them from
+ * a pool. Fetching and parsing stay plain blocking code, but the number of beacons queried at once is not capped by the
+ * size of the EJB async pool. The threads are capped by the bulkheads of the beacons and the {@link HostLimiter limit
+ * of requests per beacon host} instead: a request waiting for a host permit gets its thread only once the permit is
+ * granted. Enable it as an alternative in beans.xml to replace {@link ParallelBeaconProcessor}.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+@Alternative
+public class ThreadPerRequestBeaconProcessor implements BeaconProcessor, Serializable {
+
+    private static final long serialVersionUID = 12L;
+
+    @Inject
+    private ExecutionPlanner planner;
+
+    @Inject
+    private HttpUtils httpUtils;
+
+    @Inject
+    private HostLimiter hostLimiter;
+
+    @Inject
+    private RequestHedger hedger;
+
+    @Inject
+    private BeaconQueryGate gate;
+
+    @Inject
+    private Logger logger;
+
+    @Resource
+    private ManagedThreadFactory threadFactory;
+
+    private Executor getThreads() {
+        return new Executor() {
+
+            @Override
+            public void execute(Runnable command) {
+                threadFactory.newThread(command).start();
+            }
+        };
+    }
+
+    private <T> ListenableFuture<T> start(Callable<T> task) {
+        ListenableFutureTask<T> f = ListenableFutureTask.create(task);
+        getThreads().execute(f);
+
+        return f;
+    }
+
+    private ListenableFuture<String> fetch(final HttpRequestBase request, final int limit, final Deadline deadline) {
+        final String host = request.getURI().getHost();
+
+        // waiting for a permit holds no thread, cancelling the request gives up its place in the queue
+        return Futures.transform(hostLimiter.acquire(host, deadline), new AsyncFunction<Boolean, String>() {
+
+            @Override
+            public ListenableFuture<String> apply(Boolean permit) {
+                if (!permit) {
+                    logger.warn("Request to " + host + " not executed, host busy until the deadline");
+                    return Futures.<String>immediateFuture(null);
+                }
+
+                ListenableFuture<String> res = httpUtils.executeRequest(request, deadline, limit, getThreads());
+                res.addListener(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        hostLimiter.release(host);
+                    }
+                }, MoreExecutors.directExecutor());
+
+                return res;
+            }
+        });
+    }
+
+    private List<HttpRequestBase> createRequests(Beacon beacon, ExecutionPlan plan, Query query, List<Reference> refs) {
+        List<HttpRequestBase> rs = new ArrayList<>();
+
+        ResponseFetcher fetcher = plan.getFetcher();
+        RequestConstructor requester = plan.getRequester();
+        QueryTranslator translator = plan.getTranslator();
+        TranslatedQuery q = translator.translate(query);
+
+        try {
+            if (refs.size() > 1 && plan.isMultiReference(beacon)) {
+                // all the refs in one request
+                MultiReferenceRequestConstructor multiRequester = (MultiReferenceRequestConstructor) requester;
+                List<String> refIds = translator.translateReferences(refs);
+                rs.add(fetcher.createRequest(multiRequester.getUrl(beacon, refIds, q.getChromosome(), q.getPosition(), q.getAllele(), null), multiRequester.getPayload(beacon, refIds, q.getChromosome(), q.getPosition(), q.getAllele(), null)));
+            } else {
+                for (Reference ref : refs) {
+                    String r = translator.translateReference(ref);
+                    rs.add(fetcher.createRequest(requester.getUrl(beacon, r, q.getChromosome(), q.getPosition(), q.getAllele(), null), requester.getPayload(beacon, r, q.getChromosome(), q.getPosition(), q.getAllele(), null)));
+                }
+            }
+        } catch (UnsupportedEncodingException ex) {
+            logger.error(ex.getMessage());
+        }
+
+        return rs;
+    }
+
+    private Boolean parseResult(Beacon beacon, ResponseParser parser, Future<String> response, Deadline deadline) {
+        try {
+            String r = response.get(deadline.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+            if (parser instanceof InlineResponseParser) {
+                return ((InlineResponseParser) parser).parse(beacon, new ResponseBody(r));
+            }
+            return parser.parseQueryResponse(beacon, new AsyncResult<>(r), deadline).get(deadline.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException ex) {
+            logger.error(ex.getMessage());
+            return null;
+        }
+    }
+
+    private Boolean queryReferences(Beacon beacon, ExecutionPlan plan, List<HttpRequestBase> requests, final Deadline deadline) {
+        ResponseParser parser = plan.getParser();
+        final int limit = plan.getResponseLimit();
+        Function<HttpRequestBase, ListenableFuture<String>> transport = new Function<HttpRequestBase, ListenableFuture<String>>() {
+
+            @Override
+            public ListenableFuture<String> apply(HttpRequestBase input) {
+                return fetch(input, limit, deadline);
+            }
+        };
+
+        // all the requests are in flight at once unless the refs are asked one after another
+        List<Future<String>> fs = new ArrayList<>();
+        if (!SEQUENTIAL_REFERENCES) {
+            for (HttpRequestBase request : requests) {
+                fs.add(hedger.execute(beacon, request, deadline, transport));
+            }
+        }
+
+        Boolean res = null;
+        try {
+            for (int i = 0; i < requests.size(); i++) {
+                Future<String> f = SEQUENTIAL_REFERENCES ? hedger.execute(beacon, requests.get(i), deadline, transport) : fs.get(i);
+                try {
+                    Boolean r = parseResult(beacon, parser, f, deadline);
+                    if (r != null && (r || res == null)) {
+                        res = r;
+                    }
+                } finally {
+                    // a request still running after its deadline is abandoned
+                    f.cancel(true);
+                }
+                if ((res != null && res) || deadline.isExpired()) {
+                    break;
+                }
+            }
+        } finally {
+            for (Future<String> f : fs) {
+                // the remaining requests are not needed any more
+                f.cancel(true);
+            }
+        }
+
+        return res;
+    }
+
+    @Override
+    public Future<Boolean> executeQuery(final Beacon beacon, Query query, final Deadline deadline) {
+        if (query == null) {
+            return Futures.<Boolean>immediateFuture(null);
+        }
+
+        final ExecutionPlan plan;
+        try {
+            plan = planner.getPlan(beacon);
+        } catch (ClassNotFoundException | NamingException ex) {
+            logger.error(ex.getMessage());
+            return Futures.<Boolean>immediateFuture(null);
+        }
+
+        final List<HttpRequestBase> requests = createRequests(beacon, plan, query, ReferenceOrder.getReferences(beacon, query));
+        if (requests.isEmpty()) {
+            // reference not supported by the beacon, nothing to ask
+            return Futures.<Boolean>immediateFuture(null);
+        }
+
+        // the thread is started only once the query is admitted
+        return gate.submit(beacon, deadline, new AsyncFunction<Deadline, Boolean>() {
+
+            @Override
+            public ListenableFuture<Boolean> apply(final Deadline d) {
+                return start(new Callable<Boolean>() {
+
+                    @Override
+                    public Boolean call() {
+                        return queryReferences(beacon, plan, requests, d);
+                    }
+                });
+            }
+        });
+    }
+
+    private List<Boolean> queryBatch(Beacon beacon, MultiVariantResponseParser parser, VariantBatch vb, HttpRequestBase request, Deadline d) {
+        Future<String> f = fetch(request, -1, d);
+        try {
+            String r = f.get(d.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+            return r == null ? null : parser.parseQueryResponses(beacon, new AsyncResult<>(r), vb.getQueries().size(), d).get(d.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException | ExecutionException | TimeoutException ex) {
+            logger.error(ex.getMessage());
+            return null;
+        } finally {
+            f.cancel(true);
+        }
+    }
+
+    @Override
+    public Future<Map<Query, Boolean>> executeQueries(final Beacon beacon, Collection<Query> queries, final Deadline deadline) {
+        ExecutionPlan plan;
+        try {
+            plan = planner.getPlan(beacon);
+        } catch (ClassNotFoundException | NamingException ex) {
+            logger.error(ex.getMessage());
+            return Futures.<Map<Query, Boolean>>immediateFuture(new HashMap<Query, Boolean>());
+        }
+        if (!plan.isMultiVariant()) {
+            return Futures.<Map<Query, Boolean>>immediateFuture(new HashMap<Query, Boolean>());
+        }
+
+        final MultiVariantResponseParser parser = (MultiVariantResponseParser) plan.getParser();
+        final List<VariantBatch> batches = new ArrayList<>();
+        List<ListenableFuture<List<Boolean>>> bs = new ArrayList<>();
+        for (final VariantBatch vb : VariantBatch.create(beacon, plan, queries)) {
+            final HttpRequestBase request;
+            try {
+                request = plan.getFetcher().createRequest(vb.getUrl(), vb.getPayload());
+            } catch (UnsupportedEncodingException ex) {
+                logger.error(ex.getMessage());
+                continue;
+            }
+            batches.add(vb);
+            // the same gates as a single query, for every request
+            bs.add(gate.submit(beacon, deadline, new AsyncFunction<Deadline, List<Boolean>>() {
+
+                @Override
+                public ListenableFuture<List<Boolean>> apply(final Deadline d) {
+                    return start(new Callable<List<Boolean>>() {
+
+                        @Override
+                        public List<Boolean> call() {
+                            return queryBatch(beacon, parser, vb, request, d);
+                        }
+                    });
+                }
+            }));
+        }
+
+        // collected by the thread completing the last batch, nobody waits for them
+        return Futures.transform(Futures.successfulAsList(bs), new Function<List<List<Boolean>>, Map<Query, Boolean>>() {
+
+            @Override
+            public Map<Query, Boolean> apply(List<List<Boolean>> input) {
+                Map<Query, Boolean> res = new HashMap<>();
+                for (int i = 0; i < batches.size(); i++) {
+                    batches.get(i).collect(res, input.get(i));
+                }
+
+                return res;
+            }
+        }, MoreExecutors.directExecutor());
+    }
+}
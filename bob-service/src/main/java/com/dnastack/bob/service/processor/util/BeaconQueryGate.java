@@ -0,0 +1,172 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.processor.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.util.BeaconTimeouts;
+import com.dnastack.bob.service.util.Bulkheads;
+import com.dnastack.bob.service.util.CircuitBreakers;
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.concurrent.TimeUnit;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import org.jboss.logging.Logger;
+
+/**
+ * Admission of beacon queries shared by the beacon processors. A query (or a request of a batch) passes the circuit
+ * breaker and the bulkhead of its beacon, runs under the adaptive timeout of the beacon, and its outcome is fed back to
+ * the breaker and the timeout. A query that is not admitted or fails has no result (null).
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class BeaconQueryGate {
+
+    @Inject
+    private CircuitBreakers breakers;
+
+    @Inject
+    private Bulkheads bulkheads;
+
+    @Inject
+    private BeaconTimeouts timeouts;
+
+    @Inject
+    private Logger logger;
+
+    private void recordOutcome(Beacon beacon, boolean responded, Deadline beaconDeadline, Deadline deadline, long start) {
+        // a missing response only says something about the beacon if it failed on its own or its own timeout expired
+        boolean beaconTimeout = beaconDeadline != deadline;
+        if (responded) {
+            breakers.recordSuccess(beacon);
+        } else if (beaconTimeout || !deadline.isExpired()) {
+            breakers.recordFailure(beacon);
+        }
+        if (responded || beaconTimeout) {
+            timeouts.record(beacon, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Executes a query of a beacon in the calling thread. The query does not queue for a slot in the bulkhead, as the
+     * thread would be held while waiting; it is rejected if the beacon has no slot free right away.
+     *
+     * @param <T>      type of the result
+     * @param beacon   beacon
+     * @param deadline time by which the result has to be obtained
+     * @param query    query, executed with the deadline of the beacon
+     *
+     * @return result, null if the query was not admitted or failed
+     */
+    public <T> T call(Beacon beacon, Deadline deadline, Function<Deadline, T> query) {
+        // beacons known to be down are not queried at all
+        if (!breakers.allowRequest(beacon)) {
+            return null;
+        }
+        if (!bulkheads.tryAcquire(beacon)) {
+            logger.warn("Beacon " + beacon.getId() + " not queried, too many queries in flight");
+            return null;
+        }
+        try {
+            Deadline d = timeouts.limit(beacon, deadline);
+            long start = System.nanoTime();
+            T res = query.apply(d);
+            recordOutcome(beacon, res != null, d, deadline, start);
+
+            return res;
+        } finally {
+            bulkheads.release(beacon);
+        }
+    }
+
+    /**
+     * Executes a query of a beacon once it is admitted. The query may queue for a slot in the bulkhead, as no thread
+     * waits for the admission.
+     *
+     * @param <T>      type of the result
+     * @param beacon   beacon
+     * @param deadline time by which the result has to be obtained
+     * @param query    query, started with the deadline of the beacon
+     *
+     * @return result, null if the query was not admitted or failed
+     */
+    public <T> ListenableFuture<T> submit(final Beacon beacon, final Deadline deadline, final AsyncFunction<Deadline, T> query) {
+        // beacons known to be down are not queried at all
+        if (!breakers.allowRequest(beacon)) {
+            return Futures.<T>immediateFuture(null);
+        }
+
+        // cancelling the result while waiting for a slot gives up the slot
+        return Futures.transform(bulkheads.acquire(beacon), new AsyncFunction<Boolean, T>() {
+
+            @Override
+            public ListenableFuture<T> apply(Boolean admitted) {
+                if (!admitted) {
+                    logger.warn("Beacon " + beacon.getId() + " not queried, too many queries in flight");
+                    return Futures.<T>immediateFuture(null);
+                }
+
+                final Deadline d = timeouts.limit(beacon, deadline);
+                final long start = System.nanoTime();
+                ListenableFuture<T> res;
+                try {
+                    res = query.apply(d);
+                } catch (Exception ex) {
+                    logger.error(ex.getMessage());
+                    res = Futures.<T>immediateFuture(null);
+                }
+                Futures.addCallback(res, new FutureCallback<T>() {
+
+                    @Override
+                    public void onSuccess(T result) {
+                        recordOutcome(beacon, result != null, d, deadline, start);
+                    }
+
+                    @Override
+                    public void onFailure(Throwable t) {
+                        // cancelled, nobody waited for the beacon
+                    }
+                }, MoreExecutors.directExecutor());
+                res.addListener(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        bulkheads.release(beacon);
+                    }
+                }, MoreExecutors.directExecutor());
+
+                return res;
+            }
+        });
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.processor.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.service.converter.api.AlleleConverter;
+import com.dnastack.bob.service.converter.api.ChromosomeConverter;
+import com.dnastack.bob.service.converter.api.PositionConverter;
+import com.dnastack.bob.service.converter.api.ReferenceConverter;
+import com.dnastack.bob.service.fetcher.api.ResponseFetcher;
+import com.dnastack.bob.service.parser.api.BoundedResponseParser;
+import com.dnastack.bob.service.parser.api.InlineResponseParser;
+import com.dnastack.bob.service.parser.api.MultiVariantResponseParser;
+import com.dnastack.bob.service.parser.api.ResponseParser;
+import com.dnastack.bob.service.requester.api.MultiReferenceRequestConstructor;
+import com.dnastack.bob.service.requester.api.MultiVariantRequestConstructor;
+import com.dnastack.bob.service.requester.api.RequestConstructor;
+import java.util.List;
+
+/**
+ * Resolved strategies used to query a beacon.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class ExecutionPlan {
+
+    private final List<String> strategies;
+    private final ResponseFetcher fetcher;
+    private final RequestConstructor requester;
+    private final ResponseParser parser;
+    private final ChromosomeConverter chromosomeConverter;
+    private final ReferenceConverter referenceConverter;
+    private final PositionConverter positionConverter;
+    private final AlleleConverter alleleConverter;
+    private final QueryTranslator translator;
+
+    public ExecutionPlan(List<String> strategies, ResponseFetcher fetcher, RequestConstructor requester, ResponseParser parser, ChromosomeConverter chromosomeConverter, ReferenceConverter referenceConverter, PositionConverter positionConverter, AlleleConverter alleleConverter) {
+        this.strategies = strategies;
+        this.fetcher = fetcher;
+        this.requester = requester;
+        this.parser = parser;
+        this.chromosomeConverter = chromosomeConverter;
+        this.referenceConverter = referenceConverter;
+        this.positionConverter = positionConverter;
+        this.alleleConverter = alleleConverter;
+        this.translator = new QueryTranslator(chromosomeConverter, referenceConverter, positionConverter, alleleConverter);
+    }
+
+    public List<String> getStrategies() {
+        return strategies;
+    }
+
+    public ResponseFetcher getFetcher() {
+        return fetcher;
+    }
+
+    public RequestConstructor getRequester() {
+        return requester;
+    }
+
+    public ResponseParser getParser() {
+        return parser;
+    }
+
+    public ChromosomeConverter getChromosomeConverter() {
+        return chromosomeConverter;
+    }
+
+    public ReferenceConverter getReferenceConverter() {
+        return referenceConverter;
+    }
+
+    public PositionConverter getPositionConverter() {
+        return positionConverter;
+    }
+
+    public AlleleConverter getAlleleConverter() {
+        return alleleConverter;
+    }
+
+    /**
+     * Retrieves the converters of the beacon composed into a single translation.
+     *
+     * @return translator
+     */
+    public QueryTranslator getTranslator() {
+        return translator;
+    }
+
+    /**
+     * Checks whether the beacon can answer multiple variants in a single request.
+     *
+     * @return true if both the request constructor and the parser support multiple variants
+     */
+    public boolean isMultiVariant() {
+        return requester instanceof MultiVariantRequestConstructor && parser instanceof MultiVariantResponseParser;
+    }
+
+    /**
+     * Checks whether the beacon can answer for multiple reference genomes in a single request.
+     *
+     * @param b beacon
+     *
+     * @return true if the beacon is flagged as multi-reference and the request constructor supports it
+     */
+    public boolean isMultiReference(Beacon b) {
+        return requester instanceof MultiReferenceRequestConstructor && Boolean.TRUE.equals(b.getMultiReference());
+    }
+
+    /**
+     * Checks whether the parser of the beacon can be invoked directly on the thread that obtained the response.
+     *
+     * @return true if the parser is inline
+     */
+    public boolean isInlineParser() {
+        return parser instanceof InlineResponseParser;
+    }
+
+    /**
+     * Retrieves the number of bytes at the beginning of a response the parser of the beacon needs.
+     *
+     * @return number of bytes, negative if the parser needs the whole response
+     */
+    public int getResponseLimit() {
+        return (parser instanceof BoundedResponseParser) ? ((BoundedResponseParser) parser).getResponseLimit() : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutionPlan{" + "strategies=" + strategies + '}';
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.processor.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.event.BeaconChangeEvent;
+import com.dnastack.bob.service.converter.api.AlleleConverter;
+import com.dnastack.bob.service.converter.api.ChromosomeConverter;
+import com.dnastack.bob.service.converter.api.PositionConverter;
+import com.dnastack.bob.service.converter.api.ReferenceConverter;
+import com.dnastack.bob.service.converter.impl.EmptyAlleleConverter;
+import com.dnastack.bob.service.converter.impl.EmptyChromosomeConverter;
+import com.dnastack.bob.service.converter.impl.EmptyPositionConverter;
+import com.dnastack.bob.service.converter.impl.EmptyReferenceConverter;
+import com.dnastack.bob.service.fetcher.api.ResponseFetcher;
+import com.dnastack.bob.service.parser.api.ResponseParser;
+import com.dnastack.bob.service.requester.api.RequestConstructor;
+import com.dnastack.bob.service.util.CdiBeanResolver;
+import com.dnastack.bob.service.util.EjbResolver;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.naming.NamingException;
+
+/**
+ * Resolves the strategies of beacons once and caches them per beacon. A plan is resolved again when the strategies
+ * configured for the beacon change.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class ExecutionPlanner {
+
+    @Inject
+    private CdiBeanResolver cdiResolver;
+
+    @Inject
+    private EjbResolver ejbResolver;
+
+    private final ConcurrentMap<String, ExecutionPlan> plans = new ConcurrentHashMap<>();
+
+    public ExecutionPlanner() {
+        // needed for CDI
+    }
+
+    /**
+     * Creates a planner outside of the container.
+     *
+     * @param cdiResolver resolver of CDI strategies
+     * @param ejbResolver resolver of EJB strategies
+     */
+    public ExecutionPlanner(CdiBeanResolver cdiResolver, EjbResolver ejbResolver) {
+        this.cdiResolver = cdiResolver;
+        this.ejbResolver = ejbResolver;
+    }
+
+    private static List<String> getStrategies(Beacon b) {
+        return Arrays.asList(b.getFetcher(), b.getRequester(), b.getParser(), b.getChromosomeConverter(), b.getReferenceConverter(), b.getPositionConverter(), b.getAlleleConverter());
+    }
+
+    private Object resolve(String id, Class<?> fallback) throws ClassNotFoundException {
+        Object o = cdiResolver.resolve(id);
+
+        return (o == null) ? cdiResolver.resolve(cdiResolver.getClassId(fallback)) : o;
+    }
+
+    private ExecutionPlan createPlan(Beacon b, List<String> strategies) throws ClassNotFoundException, NamingException {
+        return new ExecutionPlan(strategies, (ResponseFetcher) ejbResolver.resolve(b.getFetcher()), (RequestConstructor) cdiResolver.resolve(b.getRequester()), (ResponseParser) ejbResolver.resolve(b.getParser()), (ChromosomeConverter) resolve(b.getChromosomeConverter(), EmptyChromosomeConverter.class), (ReferenceConverter) resolve(b.getReferenceConverter(), EmptyReferenceConverter.class), (PositionConverter) resolve(b.getPositionConverter(), EmptyPositionConverter.class), (AlleleConverter) resolve(b.getAlleleConverter(), EmptyAlleleConverter.class));
+    }
+
+    /**
+     * Retrieves the plan for querying a beacon.
+     *
+     * @param b beacon
+     *
+     * @return plan
+     *
+     * @throws ClassNotFoundException if a CDI strategy of the beacon could not be resolved
+     * @throws NamingException        if an EJB strategy of the beacon could not be resolved
+     */
+    public ExecutionPlan getPlan(Beacon b) throws ClassNotFoundException, NamingException {
+        List<String> strategies = getStrategies(b);
+        ExecutionPlan plan = plans.get(b.getId());
+        if (plan == null || !plan.getStrategies().equals(strategies)) {
+            plan = createPlan(b, strategies);
+            plans.put(b.getId(), plan);
+        }
+
+        return plan;
+    }
+
+    /**
+     * Drops the plan of a beacon once a change of the beacon is committed.
+     *
+     * @param event change
+     */
+    public void onBeaconChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) BeaconChangeEvent event) {
+        plans.remove(event.getBeaconId());
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.processor.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.enumerated.Chromosome;
+import com.dnastack.bob.persistence.enumerated.Reference;
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.parser.api.InlineResponseParser;
+import com.dnastack.bob.service.parser.api.ResponseBody;
+import com.dnastack.bob.service.requester.api.RequestConstructor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.naming.NamingException;
+import org.jboss.logging.Logger;
+
+/**
+ * Checks whether a beacon is able to answer queries by sending it a fixed query, bypassing the circuit breakers.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class HealthProber {
+
+    private static final Chromosome PROBE_CHROMOSOME = Chromosome.CHR1;
+    private static final Long PROBE_POSITION = 10000L;
+    private static final String PROBE_ALLELE = "A";
+
+    @Inject
+    private ExecutionPlanner planner;
+
+    @Inject
+    private Logger logger;
+
+    /**
+     * Probes a beacon.
+     *
+     * @param b        beacon
+     * @param deadline time by which the beacon has to answer
+     *
+     * @return true if the beacon answered, false otherwise (including when the probe could not be sent or parsed)
+     */
+    public boolean probe(Beacon b, Deadline deadline) {
+        try {
+            ExecutionPlan plan = planner.getPlan(b);
+            RequestConstructor requester = plan.getRequester();
+            Reference ref = b.getSupportedReferences().isEmpty() ? null : b.getSupportedReferences().iterator().next();
+            QueryTranslator translator = plan.getTranslator();
+            String r = (ref == null) ? null : translator.translateReference(ref);
+            String chrom = translator.translateChromosome(PROBE_CHROMOSOME);
+            Long pos = translator.translatePosition(PROBE_POSITION);
+            String allele = translator.translateAllele(PROBE_ALLELE);
+
+            Future<String> response = plan.getFetcher().getQueryResponse(requester.getUrl(b, r, chrom, pos, allele, null), requester.getPayload(b, r, chrom, pos, allele, null), deadline);
+
+            if (plan.isInlineParser()) {
+                return ((InlineResponseParser) plan.getParser()).parse(b, ResponseBody.await(response, deadline)) != null;
+            }
+
+            return plan.getParser().parseQueryResponse(b, response, deadline).get(deadline.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS) != null;
+        } catch (ClassNotFoundException | NamingException | InterruptedException | ExecutionException | TimeoutException ex) {
+            logger.error(ex.getMessage());
+            return false;
+        } catch (RuntimeException ex) {
+            // e.g. a template or a converter failing on the probe query, the beacon cannot answer it either
+            logger.error("Probe of beacon " + b.getId() + " failed", ex);
+            return false;
+        }
+    }
+}
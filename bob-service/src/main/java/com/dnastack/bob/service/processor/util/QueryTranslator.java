@@ -0,0 +1,117 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.processor.util;
+
+import com.dnastack.bob.persistence.entity.Query;
+import com.dnastack.bob.persistence.enumerated.Chromosome;
+import com.dnastack.bob.persistence.enumerated.Reference;
+import com.dnastack.bob.service.converter.api.AlleleConverter;
+import com.dnastack.bob.service.converter.api.ChromosomeConverter;
+import com.dnastack.bob.service.converter.api.PositionConverter;
+import com.dnastack.bob.service.converter.api.ReferenceConverter;
+import com.dnastack.bob.service.converter.impl.EmptyAlleleConverter;
+import com.dnastack.bob.service.converter.impl.EmptyPositionConverter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converters of a beacon composed into a single translation of a query. Chromosomes and references are finite, so
+ * their conversions are computed once when the translator is created and looked up afterwards. Converters that return
+ * their input are skipped. Converters are expected to be stateless.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class QueryTranslator {
+
+    private final String[] chromosomes;
+    private final String nullChromosome;
+    private final String[] references;
+    private final String nullReference;
+    private final PositionConverter positionConverter;
+    private final AlleleConverter alleleConverter;
+
+    public QueryTranslator(ChromosomeConverter chromosomeConverter, ReferenceConverter referenceConverter, PositionConverter positionConverter, AlleleConverter alleleConverter) {
+        Chromosome[] cs = Chromosome.values();
+        chromosomes = new String[cs.length];
+        for (Chromosome c : cs) {
+            chromosomes[c.ordinal()] = chromosomeConverter.convert(c);
+        }
+        nullChromosome = chromosomeConverter.convert(null);
+
+        Reference[] rs = Reference.values();
+        references = new String[rs.length];
+        for (Reference r : rs) {
+            references[r.ordinal()] = referenceConverter.convert(r);
+        }
+        nullReference = referenceConverter.convert(null);
+
+        this.positionConverter = (positionConverter instanceof EmptyPositionConverter) ? null : positionConverter;
+        this.alleleConverter = (alleleConverter instanceof EmptyAlleleConverter) ? null : alleleConverter;
+    }
+
+    /**
+     * Translates the chromosome, position and allele of a query.
+     *
+     * @param query query
+     *
+     * @return translated query
+     */
+    public TranslatedQuery translate(Query query) {
+        return new TranslatedQuery(translateChromosome(query.getChromosome()), translatePosition(query.getPosition()), translateAllele(query.getAllele()));
+    }
+
+    public String translateChromosome(Chromosome chromosome) {
+        return (chromosome == null) ? nullChromosome : chromosomes[chromosome.ordinal()];
+    }
+
+    public Long translatePosition(Long position) {
+        return (positionConverter == null) ? position : positionConverter.convert(position);
+    }
+
+    public String translateAllele(String allele) {
+        return (alleleConverter == null) ? allele : alleleConverter.convert(allele);
+    }
+
+    public String translateReference(Reference reference) {
+        return (reference == null) ? nullReference : references[reference.ordinal()];
+    }
+
+    /**
+     * Translates references, keeping their order.
+     *
+     * @param refs references
+     *
+     * @return translated references
+     */
+    public List<String> translateReferences(List<Reference> refs) {
+        List<String> res = new ArrayList<>(refs.size());
+        for (Reference r : refs) {
+            res.add(translateReference(r));
+        }
+
+        return res;
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.processor.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.entity.Query;
+import com.dnastack.bob.persistence.enumerated.Reference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.dnastack.bob.service.util.Constants.REFERENCE_PRIORITY;
+
+/**
+ * Order in which the reference genomes of a beacon are asked, most likely hits first.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class ReferenceOrder {
+
+    private static final List<Reference> PRIORITY = parse(REFERENCE_PRIORITY);
+
+    private static final Comparator<Reference> COMPARATOR = new Comparator<Reference>() {
+
+        @Override
+        public int compare(Reference o1, Reference o2) {
+            return Integer.compare(rank(o1), rank(o2));
+        }
+    };
+
+    private static List<Reference> parse(String priority) {
+        List<Reference> res = new ArrayList<>();
+        for (String s : priority.split(",")) {
+            Reference ref = Reference.fromString(s.trim());
+            if (ref != null && !res.contains(ref)) {
+                res.add(ref);
+            }
+        }
+
+        return res;
+    }
+
+    private static int rank(Reference ref) {
+        int i = PRIORITY.indexOf(ref);
+
+        // references without priority go last
+        return (i < 0) ? PRIORITY.size() + ref.ordinal() : i;
+    }
+
+    /**
+     * Lists the references to ask a beacon for. A query without reference is asked for all the references supported by
+     * the beacon, ordered by the configured priority.
+     *
+     * @param beacon beacon
+     * @param query  query
+     *
+     * @return references, empty if the beacon does not support the reference of the query
+     */
+    public static List<Reference> getReferences(Beacon beacon, Query query) {
+        List<Reference> res = new ArrayList<>();
+        if (query.getReference() == null) {
+            // query all refs
+            res.addAll(beacon.getSupportedReferences());
+            Collections.sort(res, COMPARATOR);
+        } else if (beacon.getSupportedReferences().contains(query.getReference())) {
+            // query only the specified ref
+            res.add(query.getReference());
+        }
+
+        return res;
+    }
+
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.processor.util;
+
+/**
+ * Query parameters in the format of a particular beacon.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class TranslatedQuery {
+
+    private final String chromosome;
+    private final Long position;
+    private final String allele;
+
+    public TranslatedQuery(String chromosome, Long position, String allele) {
+        this.chromosome = chromosome;
+        this.position = position;
+        this.allele = allele;
+    }
+
+    public String getChromosome() {
+        return chromosome;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public String getAllele() {
+        return allele;
+    }
+
+    @Override
+    public String toString() {
+        return "TranslatedQuery{" + "chromosome=" + chromosome + ", position=" + position + ", allele=" + allele + '}';
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.processor.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.entity.Query;
+import com.dnastack.bob.persistence.enumerated.Reference;
+import com.dnastack.bob.service.requester.api.MultiVariantRequestConstructor;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single request for multiple variants of the same reference genome.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class VariantBatch {
+
+    private final List<Query> queries;
+    private final String url;
+    private final Map<String, String> payload;
+
+    public VariantBatch(List<Query> queries, String url, Map<String, String> payload) {
+        this.queries = queries;
+        this.url = url;
+        this.payload = payload;
+    }
+
+    /**
+     * Splits queries against a multi-variant beacon into requests, one for each reference genome and at most as many
+     * variants as the beacon accepts. Like single queries, a query without reference is asked for all the references
+     * supported by the beacon.
+     *
+     * @param beacon  beacon
+     * @param plan    execution plan of the beacon, has to be multi-variant
+     * @param queries queries
+     *
+     * @return requests
+     */
+    public static List<VariantBatch> create(Beacon beacon, ExecutionPlan plan, Collection<Query> queries) {
+        ListMultimap<Reference, Query> byRef = ArrayListMultimap.create();
+        for (Query q : queries) {
+            if (q.getReference() == null) {
+                for (Reference ref : beacon.getSupportedReferences()) {
+                    byRef.put(ref, q);
+                }
+            } else if (beacon.getSupportedReferences().contains(q.getReference())) {
+                byRef.put(q.getReference(), q);
+            }
+        }
+
+        MultiVariantRequestConstructor requester = (MultiVariantRequestConstructor) plan.getRequester();
+        List<VariantBatch> res = new ArrayList<>();
+        for (Reference ref : byRef.keySet()) {
+            QueryTranslator translator = plan.getTranslator();
+            String r = translator.translateReference(ref);
+            for (List<Query> qs : Lists.partition(byRef.get(ref), Math.max(requester.getMaxVariants(), 1))) {
+                List<String> chroms = new ArrayList<>();
+                List<Long> positions = new ArrayList<>();
+                List<String> alleles = new ArrayList<>();
+                for (Query q : qs) {
+                    chroms.add(translator.translateChromosome(q.getChromosome()));
+                    positions.add(translator.translatePosition(q.getPosition()));
+                    alleles.add(translator.translateAllele(q.getAllele()));
+                }
+                res.add(new VariantBatch(new ArrayList<>(qs), requester.getUrl(beacon, r, chroms, positions, alleles, null), requester.getPayload(beacon, r, chroms, positions, alleles, null)));
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Merges the responses to this request into the responses collected so far. A query is answered positively if any
+     * of its responses is positive, negatively if any is negative and none positive.
+     *
+     * @param collected responses collected so far
+     * @param responses responses to this request, in the order of the queries
+     */
+    public void collect(Map<Query, Boolean> collected, List<Boolean> responses) {
+        if (responses == null || responses.size() != queries.size()) {
+            // malformed response, ignore it
+            return;
+        }
+
+        for (int i = 0; i < queries.size(); i++) {
+            Boolean r = responses.get(i);
+            if (r != null && (r || collected.get(queries.get(i)) == null)) {
+                collected.put(queries.get(i), r);
+            }
+        }
+    }
+
+    public List<Query> getQueries() {
+        return queries;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public Map<String, String> getPayload() {
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return "VariantBatch{" + "queries=" + queries + ", url=" + url + ", payload=" + payload + '}';
+    }
+
+}
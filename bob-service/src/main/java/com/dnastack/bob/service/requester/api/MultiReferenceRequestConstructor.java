@@ -0,0 +1,67 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.requester.api;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request constructor for beacons able to answer for multiple reference genomes in a single request. The response is
+ * positive if the variant is found in any of the references. Only used for beacons with the multiReference flag set.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public interface MultiReferenceRequestConstructor extends RequestConstructor {
+
+    /**
+     * Generates query URL for a variant in multiple reference genomes.
+     *
+     * @param b       beacon
+     * @param refs    reference genomes
+     * @param chrom   chromosome
+     * @param pos     position
+     * @param allele  allele
+     * @param dataset dataset
+     *
+     * @return URL
+     */
+    String getUrl(Beacon b, List<String> refs, String chrom, Long pos, String allele, String dataset);
+
+    /**
+     * Generates request payload for a variant in multiple reference genomes.
+     *
+     * @param b       beacon
+     * @param refs    reference genomes
+     * @param chrom   chromosome
+     * @param pos     position
+     * @param allele  allele
+     * @param dataset dataset
+     *
+     * @return payload key-value pairs
+     */
+    Map<String, String> getPayload(Beacon b, List<String> refs, String chrom, Long pos, String allele, String dataset);
+
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.requester.api;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request constructor for beacons able to answer multiple variants in a single request. Used together with a
+ * {@link com.dnastack.bob.service.parser.api.MultiVariantResponseParser}.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public interface MultiVariantRequestConstructor extends RequestConstructor {
+
+    /**
+     * Generates query URL for multiple variants of the same reference genome.
+     *
+     * @param b         beacon
+     * @param ref       reference genome
+     * @param chroms    chromosomes
+     * @param positions positions
+     * @param alleles   alleles
+     * @param dataset   dataset
+     *
+     * @return URL
+     */
+    String getUrl(Beacon b, String ref, List<String> chroms, List<Long> positions, List<String> alleles, String dataset);
+
+    /**
+     * Generates request payload for multiple variants of the same reference genome.
+     *
+     * @param b         beacon
+     * @param ref       reference genome
+     * @param chroms    chromosomes
+     * @param positions positions
+     * @param alleles   alleles
+     * @param dataset   dataset
+     *
+     * @return payload key-value pairs
+     */
+    Map<String, String> getPayload(Beacon b, String ref, List<String> chroms, List<Long> positions, List<String> alleles, String dataset);
+
+    /**
+     * Maximum number of variants the beacon accepts in a single request.
+     *
+     * @return number of variants
+     */
+    int getMaxVariants();
+
+}
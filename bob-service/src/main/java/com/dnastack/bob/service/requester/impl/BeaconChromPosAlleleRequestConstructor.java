@@ -24,9 +24,11 @@
 package com.dnastack.bob.service.requester.impl;
 
 import com.dnastack.bob.persistence.entity.Beacon;
-import com.dnastack.bob.service.requester.api.RequestConstructor;
+import com.dnastack.bob.service.requester.api.UrlTemplateRequestConstructor;
+import com.dnastack.bob.service.requester.util.UrlTemplates;
 import java.io.Serializable;
 import java.util.Map;
+import javax.inject.Inject;
 import javax.inject.Named;
 
 /**
@@ -36,13 +38,16 @@ import javax.inject.Named;
  * @version 1.0
  */
 @Named
-public class BeaconChromPosAlleleRequestConstructor implements RequestConstructor, Serializable {
+public class BeaconChromPosAlleleRequestConstructor implements UrlTemplateRequestConstructor, Serializable {
 
     private static final long serialVersionUID = -7149217395476698911L;
 
+    @Inject
+    private UrlTemplates templates;
+
     @Override
     public String getUrl(Beacon b, String ref, String chrom, Long pos, String allele, String dataset) {
-        return String.format(b.getUrl(), b.getId(), chrom, pos, allele);
+        return templates.get(b).render(b.getId(), chrom, pos, allele);
     }
 
     @Override
@@ -50,4 +55,9 @@ public class BeaconChromPosAlleleRequestConstructor implements RequestConstructo
         return null;
     }
 
+    @Override
+    public int getUrlParameters() {
+        return 4;
+    }
+
 }
@@ -0,0 +1,179 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.requester.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Beacon URL with placeholders for query parameters, parsed once into literal and placeholder segments. Templates use
+ * the {@link String#format(String, Object...)} syntax of the beacon URLs: %s and %d take the next parameter, %1$s and
+ * %1$d a given one and %% is a literal percent sign. Parameters are rendered percent-encoded.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class UrlTemplate {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final String url;
+    // literal segments, placeholders[i] follows literals[i], the last literal closes the URL
+    private final String[] literals;
+    private final int[] placeholders;
+    private final int parameters;
+
+    private UrlTemplate(String url, String[] literals, int[] placeholders) {
+        this.url = url;
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int max = 0;
+        for (int p : placeholders) {
+            max = Math.max(max, p + 1);
+        }
+        this.parameters = max;
+    }
+
+    /**
+     * Parses a URL template.
+     *
+     * @param url template
+     *
+     * @return template
+     *
+     * @throws IllegalArgumentException if the template contains an unsupported format specifier
+     */
+    public static UrlTemplate compile(String url) {
+        if (url == null) {
+            throw new IllegalArgumentException("URL template missing.");
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<Integer> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int next = 0;
+        for (int i = 0; i < url.length(); i++) {
+            char c = url.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+
+            int j = i + 1;
+            int index = 0;
+            while (j < url.length() && Character.isDigit(url.charAt(j))) {
+                index = index * 10 + (url.charAt(j) - '0');
+                j++;
+            }
+            boolean explicit = j > i + 1;
+            if (explicit) {
+                if (j >= url.length() || url.charAt(j) != '$' || index == 0) {
+                    throw new IllegalArgumentException("Unsupported format specifier at " + i + " in URL template " + url);
+                }
+                j++;
+            }
+            char conversion = (j < url.length()) ? url.charAt(j) : 0;
+            if (conversion == '%' && !explicit) {
+                literal.append('%');
+            } else if (conversion == 's' || conversion == 'd') {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                placeholders.add(explicit ? index - 1 : next++);
+            } else {
+                throw new IllegalArgumentException("Unsupported format specifier at " + i + " in URL template " + url);
+            }
+            i = j;
+        }
+        literals.add(literal.toString());
+
+        int[] ps = new int[placeholders.size()];
+        for (int i = 0; i < ps.length; i++) {
+            ps[i] = placeholders.get(i);
+        }
+
+        return new UrlTemplate(url, literals.toArray(new String[literals.size()]), ps);
+    }
+
+    private static void appendEncoded(StringBuilder sb, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '.' || c == '_' || c == '~') {
+                sb.append(c);
+            } else if (c < 0x80) {
+                sb.append('%').append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            } else {
+                // rare, not worth avoiding the copy
+                int end = (Character.isHighSurrogate(c) && i + 1 < s.length()) ? i + 2 : i + 1;
+                for (byte b : s.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+                    sb.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+                }
+                i = end - 1;
+            }
+        }
+    }
+
+    /**
+     * Renders the URL for the given parameters.
+     *
+     * @param params parameters, null is rendered as "null" like by {@link String#format(String, Object...)}
+     *
+     * @return URL
+     *
+     * @throws IllegalArgumentException if there are fewer parameters than the template refers to
+     */
+    public String render(Object... params) {
+        if (params.length < parameters) {
+            throw new IllegalArgumentException("URL template " + url + " takes " + parameters + " parameters, " + params.length + " given.");
+        }
+
+        StringBuilder sb = new StringBuilder(url.length() + 32);
+        for (int i = 0; i < placeholders.length; i++) {
+            sb.append(literals[i]);
+            appendEncoded(sb, String.valueOf(params[placeholders[i]]));
+        }
+        sb.append(literals[placeholders.length]);
+
+        return sb.toString();
+    }
+
+    /**
+     * Number of parameters the template refers to.
+     *
+     * @return highest parameter index used plus one
+     */
+    public int getParameters() {
+        return parameters;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    @Override
+    public String toString() {
+        return "UrlTemplate{" + "url=" + url + ", parameters=" + parameters + '}';
+    }
+
+}
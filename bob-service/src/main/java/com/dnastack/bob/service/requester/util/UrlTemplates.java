@@ -0,0 +1,116 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.requester.util;
+
+import com.dnastack.bob.persistence.api.BeaconDao;
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.event.BeaconChangeEvent;
+import com.dnastack.bob.service.requester.api.UrlTemplateRequestConstructor;
+import com.dnastack.bob.service.util.CdiBeanResolver;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * Compiled URL templates of the beacons. A template is parsed on first use and dropped once a change of the beacon is
+ * committed. Templates of beacons using a {@link UrlTemplateRequestConstructor} are validated when the beacon is saved,
+ * so a malformed URL fails the change instead of the queries.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class UrlTemplates {
+
+    @Inject
+    private BeaconDao beaconDao;
+
+    @Inject
+    private CdiBeanResolver cdiResolver;
+
+    private final ConcurrentMap<String, UrlTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the template of the URL of a beacon.
+     *
+     * @param beacon beacon
+     *
+     * @return template
+     *
+     * @throws IllegalArgumentException if the URL is not a valid template
+     */
+    public UrlTemplate get(Beacon beacon) {
+        UrlTemplate t = templates.get(beacon.getId());
+        if (t == null || !t.getUrl().equals(beacon.getUrl())) {
+            t = UrlTemplate.compile(beacon.getUrl());
+            templates.put(beacon.getId(), t);
+        }
+
+        return t;
+    }
+
+    /**
+     * Checks the URL of a beacon being saved against its request constructor.
+     *
+     * @param event change
+     *
+     * @throws IllegalArgumentException if the URL is not a valid template or refers to parameters the request
+     *                                  constructor does not provide
+     */
+    public void validate(@Observes(during = TransactionPhase.IN_PROGRESS) BeaconChangeEvent event) {
+        Beacon b = beaconDao.findById(event.getBeaconId());
+        if (b == null || b.getRequester() == null) {
+            return;
+        }
+
+        Object requester;
+        try {
+            requester = cdiResolver.resolve(b.getRequester());
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalArgumentException("Unknown requester " + b.getRequester() + " of beacon " + b.getId() + ".", ex);
+        }
+        if (requester instanceof UrlTemplateRequestConstructor) {
+            UrlTemplate t = UrlTemplate.compile(b.getUrl());
+            int params = ((UrlTemplateRequestConstructor) requester).getUrlParameters();
+            if (t.getParameters() > params) {
+                throw new IllegalArgumentException("URL of beacon " + b.getId() + " refers to " + t.getParameters() + " parameters, its requester provides " + params + ".");
+            }
+        }
+    }
+
+    /**
+     * Drops the template of a beacon once a change of the beacon is committed.
+     *
+     * @param event change
+     */
+    public void onBeaconChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) BeaconChangeEvent event) {
+        templates.remove(event.getBeaconId());
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.entity.Query;
+import com.dnastack.bob.service.api.Deadline;
+import com.google.common.base.Function;
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Table;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.JdkFutureAdapters;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Named;
+
+import static com.dnastack.bob.service.util.Constants.BATCH_BEACON_CONCURRENCY;
+
+/**
+ * Runs a batch of queries against beacons that take one variant per request. Each beacon gets a fixed number of lanes
+ * working through its queue of queries, so that a large batch does not flood a single beacon with requests. A lane
+ * sends its next query when the previous one completes instead of waiting for it in a thread of its own, so a batch
+ * never ties up the threads the queries themselves need to complete.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class BatchScheduler {
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    @SuppressWarnings("unchecked")
+    private ListenableFuture<Boolean> listenable(Future<Boolean> f) {
+        // futures of the EJB processor cannot notify us, watching them costs a pooled thread
+        return (f instanceof ListenableFuture) ? (ListenableFuture<Boolean>) f : JdkFutureAdapters.listenInPoolThread(f, executor);
+    }
+
+    private static void collect(Table<Beacon, Query, Boolean> res, Beacon b, Query q, Future<Boolean> f) {
+        Boolean r = null;
+        try {
+            r = Uninterruptibles.getUninterruptibly(f);
+        } catch (ExecutionException | CancellationException ex) {
+            // ignore, response stays missing
+        }
+        if (r != null) {
+            synchronized (res) {
+                res.put(b, q, r);
+            }
+        }
+    }
+
+    private void advance(final Table<Beacon, Query, Boolean> res, final Beacon b, final Queue<Query> pending, final Function<Entry<Beacon, Query>, Future<Boolean>> execution, final Deadline deadline, final SettableFuture<Void> lane) {
+        // a lane holds no thread, the next query is sent by whoever completes the previous one
+        Query q;
+        while (!lane.isDone() && !deadline.isExpired() && (q = pending.poll()) != null) {
+            final Query query = q;
+            final ListenableFuture<Boolean> f = listenable(execution.apply(Maps.immutableEntry(b, q)));
+            if (!f.isDone()) {
+                f.addListener(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        collect(res, b, query, f);
+                        advance(res, b, pending, execution, deadline, lane);
+                    }
+                }, MoreExecutors.directExecutor());
+                return;
+            }
+            collect(res, b, query, f);
+        }
+        lane.set(null);
+    }
+
+    /**
+     * Executes all the queries against all the beacons.
+     *
+     * @param beacons   beacons
+     * @param queries   queries
+     * @param execution execution of a single query against a single beacon
+     * @param deadline  time by which the responses have to be obtained
+     *
+     * @return responses obtained in time (missing if a beacon did not respond)
+     */
+    public Table<Beacon, Query, Boolean> execute(Collection<Beacon> beacons, Collection<Query> queries, final Function<Entry<Beacon, Query>, Future<Boolean>> execution, final Deadline deadline) {
+        final Table<Beacon, Query, Boolean> res = HashBasedTable.create();
+        if (beacons.isEmpty() || queries.isEmpty()) {
+            return res;
+        }
+
+        List<SettableFuture<Void>> lanes = new ArrayList<>();
+        int width = Math.max(1, Math.min(BATCH_BEACON_CONCURRENCY, queries.size()));
+        for (Beacon b : beacons) {
+            Queue<Query> pending = new ConcurrentLinkedQueue<>(queries);
+            for (int i = 0; i < width; i++) {
+                SettableFuture<Void> lane = SettableFuture.create();
+                lanes.add(lane);
+                advance(res, b, pending, execution, deadline, lane);
+            }
+        }
+
+        try {
+            Futures.allAsList(lanes).get(deadline.getRemaining(TimeUnit.MILLISECONDS), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            // ignore, the remaining responses stay missing
+        }
+        for (SettableFuture<Void> lane : lanes) {
+            // the lanes still waiting do not send any more queries
+            lane.cancel(false);
+        }
+
+        synchronized (res) {
+            return HashBasedTable.create(res);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.event.BeaconChangeEvent;
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.dto.BeaconTimeoutTo;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Named;
+
+import static com.dnastack.bob.service.util.Constants.ADAPTIVE_TIMEOUTS;
+import static com.dnastack.bob.service.util.Constants.ADAPTIVE_TIMEOUT_CEILING;
+import static com.dnastack.bob.service.util.Constants.ADAPTIVE_TIMEOUT_FLOOR;
+import static com.dnastack.bob.service.util.Constants.ADAPTIVE_TIMEOUT_MIN_SAMPLES;
+import static com.dnastack.bob.service.util.Constants.ADAPTIVE_TIMEOUT_MULTIPLIER;
+import static com.dnastack.bob.service.util.Constants.ADAPTIVE_TIMEOUT_PERCENTILE;
+import static com.dnastack.bob.service.util.Constants.ADAPTIVE_TIMEOUT_WINDOW;
+
+/**
+ * Per beacon timeouts derived from the observed latencies. The timeout of a beacon is a multiple of a high percentile
+ * of its recent latencies, bounded by a floor and a ceiling. Beacons without enough samples get the ceiling.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class BeaconTimeouts {
+
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    private LatencyHistogram getHistogram(String beaconId) {
+        LatencyHistogram h = histograms.get(beaconId);
+        if (h == null) {
+            LatencyHistogram created = new LatencyHistogram(ADAPTIVE_TIMEOUT_CEILING, ADAPTIVE_TIMEOUT_WINDOW);
+            h = histograms.putIfAbsent(beaconId, created);
+            if (h == null) {
+                h = created;
+            }
+        }
+
+        return h;
+    }
+
+    private static long getTimeout(LatencyHistogram h) {
+        Long p = (h == null || h.getSamples() < ADAPTIVE_TIMEOUT_MIN_SAMPLES) ? null : h.getPercentile(ADAPTIVE_TIMEOUT_PERCENTILE);
+        if (p == null) {
+            return ADAPTIVE_TIMEOUT_CEILING;
+        }
+
+        return Math.min(Math.max((long) (p * ADAPTIVE_TIMEOUT_MULTIPLIER), ADAPTIVE_TIMEOUT_FLOOR), ADAPTIVE_TIMEOUT_CEILING);
+    }
+
+    /**
+     * Records the time a beacon took to answer a query (or to fail).
+     *
+     * @param beacon  beacon
+     * @param latency latency in ms
+     */
+    public void record(Beacon beacon, long latency) {
+        if (ADAPTIVE_TIMEOUTS) {
+            getHistogram(beacon.getId()).record(latency);
+        }
+    }
+
+    /**
+     * Retrieves the current timeout of a beacon.
+     *
+     * @param beacon beacon
+     *
+     * @return timeout in ms
+     */
+    public long getTimeout(Beacon beacon) {
+        return getTimeout(histograms.get(beacon.getId()));
+    }
+
+    /**
+     * Retrieves a percentile of the recent latencies of a beacon.
+     *
+     * @param beacon     beacon
+     * @param percentile percentile (0-100)
+     *
+     * @return latency in ms, null if not enough latencies have been recorded
+     */
+    public Long getLatency(Beacon beacon, double percentile) {
+        LatencyHistogram h = histograms.get(beacon.getId());
+
+        return (h == null || h.getSamples() < ADAPTIVE_TIMEOUT_MIN_SAMPLES) ? null : h.getPercentile(percentile);
+    }
+
+    /**
+     * Narrows the deadline of a query to the timeout of the beacon queried.
+     *
+     * @param beacon   beacon
+     * @param deadline deadline of the whole request
+     *
+     * @return deadline for querying the beacon
+     */
+    public Deadline limit(Beacon beacon, Deadline deadline) {
+        return ADAPTIVE_TIMEOUTS ? deadline.limit(getTimeout(beacon), TimeUnit.MILLISECONDS) : deadline;
+    }
+
+    /**
+     * Obtains the current timeouts of all the beacons queried so far.
+     *
+     * @return timeouts
+     */
+    public Collection<BeaconTimeoutTo> getTimeouts() {
+        List<BeaconTimeoutTo> ts = new ArrayList<>();
+        for (Entry<String, LatencyHistogram> e : histograms.entrySet()) {
+            LatencyHistogram h = e.getValue();
+            ts.add(new BeaconTimeoutTo(e.getKey(), h.getSamples(), h.getPercentile(ADAPTIVE_TIMEOUT_PERCENTILE), getTimeout(h)));
+        }
+
+        return ts;
+    }
+
+    /**
+     * Forgets the latencies of a beacon once a change of the beacon is committed.
+     *
+     * @param event change
+     */
+    public void onBeaconChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) BeaconChangeEvent event) {
+        histograms.remove(event.getBeaconId());
+    }
+}
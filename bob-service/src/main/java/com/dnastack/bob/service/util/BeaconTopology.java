@@ -0,0 +1,140 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the beacons and their relationships. Leaves of the aggregators are precomputed, so the
+ * snapshot can be used without touching the database.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class BeaconTopology {
+
+    private final long version;
+    private final ImmutableMap<String, Beacon> beacons;
+    private final ImmutableSet<Beacon> visible;
+    private final ImmutableSetMultimap<Beacon, Beacon> leaves;
+
+    private BeaconTopology(long version, ImmutableMap<String, Beacon> beacons, ImmutableSet<Beacon> visible, ImmutableSetMultimap<Beacon, Beacon> leaves) {
+        this.version = version;
+        this.beacons = beacons;
+        this.visible = visible;
+        this.leaves = leaves;
+    }
+
+    private static Set<Beacon> findLeaves(Beacon parent) {
+        // enabled regular beacons under the aggregator, visible or not
+        Set<Beacon> res = new HashSet<>();
+        Set<Beacon> seen = new HashSet<>();
+        Queue<Beacon> buffer = new ArrayDeque<>();
+        buffer.add(parent);
+        while (!buffer.isEmpty()) {
+            Beacon b = buffer.poll();
+            if (!seen.add(b)) {
+                continue;
+            }
+            if (!b.getAggregator() && b.getEnabled()) {
+                res.add(b);
+            }
+            if (b.getChildren() != null) {
+                buffer.addAll(b.getChildren());
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Creates a snapshot of the given beacons. Has to be called while the beacons are managed, as relationships of the
+     * beacons are traversed.
+     *
+     * @param version version of the snapshot
+     * @param bs      all the beacons
+     *
+     * @return snapshot
+     */
+    public static BeaconTopology of(long version, Collection<Beacon> bs) {
+        ImmutableMap.Builder<String, Beacon> beacons = ImmutableMap.builder();
+        ImmutableSet.Builder<Beacon> visible = ImmutableSet.builder();
+        ImmutableSetMultimap.Builder<Beacon, Beacon> leaves = ImmutableSetMultimap.builder();
+        for (Beacon b : bs) {
+            beacons.put(b.getId(), b);
+            if (b.getVisible()) {
+                visible.add(b);
+            }
+            if (b.getAggregator()) {
+                leaves.putAll(b, findLeaves(b));
+            }
+        }
+
+        return new BeaconTopology(version, beacons.build(), visible.build(), leaves.build());
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves a beacon.
+     *
+     * @param id id
+     *
+     * @return beacon or null if there is no such beacon
+     */
+    public Beacon getBeacon(String id) {
+        return (id == null) ? null : beacons.get(id);
+    }
+
+    /**
+     * Retrieves all the visible beacons.
+     *
+     * @return beacons
+     */
+    public Set<Beacon> getVisible() {
+        return visible;
+    }
+
+    /**
+     * Retrieves the enabled regular beacons under an aggregator.
+     *
+     * @param aggregator aggregator
+     *
+     * @return leaves (empty for a regular beacon)
+     */
+    public Set<Beacon> getLeaves(Beacon aggregator) {
+        return leaves.get(aggregator);
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.util;
+
+import com.dnastack.bob.persistence.api.BeaconDao;
+import com.dnastack.bob.persistence.event.BeaconChangeEvent;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Initialized;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
+import org.jboss.logging.Logger;
+
+/**
+ * Provides the current beacon topology. The topology is built at startup and rebuilt as soon as a change of the beacons
+ * is committed, so the queries neither walk the beacon graph in the database nor wait for the topology to be built.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+@Transactional
+public class BeaconTopologyProvider {
+
+    @Inject
+    private BeaconDao beaconDao;
+
+    @Inject
+    private Logger logger;
+
+    private long version;
+    private volatile BeaconTopology topology;
+
+    private synchronized void rebuild() {
+        topology = BeaconTopology.of(++version, beaconDao.findAll());
+        logger.debug("Rebuilt beacon topology " + version);
+    }
+
+    private void tryRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            // built again on the next use
+            logger.error("Could not build beacon topology", ex);
+            topology = null;
+        }
+    }
+
+    /**
+     * Builds the topology once the application is started.
+     *
+     * @param init application context
+     */
+    public void init(@Observes @Initialized(ApplicationScoped.class) Object init) {
+        tryRebuild();
+    }
+
+    /**
+     * Retrieves the current topology.
+     *
+     * @return topology
+     */
+    public BeaconTopology getTopology() {
+        BeaconTopology t = topology;
+        if (t == null) {
+            // the topology could not be built when it was due
+            synchronized (this) {
+                if (topology == null) {
+                    rebuild();
+                }
+                t = topology;
+            }
+        }
+
+        return t;
+    }
+
+    /**
+     * Rebuilds the topology once a change of beacons is committed.
+     *
+     * @param event change
+     */
+    @Transactional(TxType.REQUIRES_NEW)
+    public void onBeaconChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) BeaconChangeEvent event) {
+        tryRebuild();
+    }
+
+}
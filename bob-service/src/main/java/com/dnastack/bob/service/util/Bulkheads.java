@@ -0,0 +1,214 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.service.dto.BulkheadStatsTo;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import org.jboss.logging.Logger;
+
+import static com.dnastack.bob.service.util.Constants.BULKHEADS;
+import static com.dnastack.bob.service.util.Constants.BULKHEAD_MAX_CONCURRENT;
+import static com.dnastack.bob.service.util.Constants.BULKHEAD_MAX_CONCURRENT_PREFIX;
+import static com.dnastack.bob.service.util.Constants.BULKHEAD_MAX_QUEUED;
+import static com.dnastack.bob.service.util.Constants.BULKHEAD_MAX_QUEUED_PREFIX;
+
+/**
+ * Per beacon bulkheads. Only a limited number of queries of a beacon can be in flight at a time and only a limited
+ * number can wait for a slot; queries beyond that are rejected right away. A slow beacon thus holds on to a bounded
+ * share of the threads and connections, instead of starving the queries of all the other beacons.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class Bulkheads {
+
+    @Inject
+    private Logger logger;
+
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    private static class Bulkhead {
+
+        private final int maxConcurrent;
+        private final int maxQueued;
+        private final Queue<SettableFuture<Boolean>> waiting = new ArrayDeque<>();
+        private int inFlight = 0;
+        private long admitted = 0;
+        private long rejected = 0;
+
+        Bulkhead(int maxConcurrent, int maxQueued) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+        }
+    }
+
+    private Bulkhead getBulkhead(String beaconId) {
+        Bulkhead b = bulkheads.get(beaconId);
+        if (b == null) {
+            Bulkhead created = new Bulkhead(Integer.getInteger(BULKHEAD_MAX_CONCURRENT_PREFIX + beaconId, BULKHEAD_MAX_CONCURRENT), Integer.getInteger(BULKHEAD_MAX_QUEUED_PREFIX + beaconId, BULKHEAD_MAX_QUEUED));
+            b = bulkheads.putIfAbsent(beaconId, created);
+            if (b == null) {
+                b = created;
+            }
+        }
+
+        return b;
+    }
+
+    /**
+     * Asks for a slot to query a beacon. Every admitted query has to {@link #release(Beacon) release} its slot when
+     * done. Cancelling a query still waiting for a slot gives up its place in the queue.
+     *
+     * @param beacon beacon
+     *
+     * @return true once the query is admitted, false if it is rejected
+     */
+    public ListenableFuture<Boolean> acquire(Beacon beacon) {
+        if (!BULKHEADS) {
+            return Futures.immediateFuture(true);
+        }
+
+        final Bulkhead b = getBulkhead(beacon.getId());
+        synchronized (b) {
+            if (b.inFlight < b.maxConcurrent) {
+                b.inFlight++;
+                b.admitted++;
+                return Futures.immediateFuture(true);
+            }
+            if (b.waiting.size() < b.maxQueued) {
+                final SettableFuture<Boolean> f = SettableFuture.create();
+                b.waiting.add(f);
+                f.addListener(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        if (f.isCancelled()) {
+                            synchronized (b) {
+                                b.waiting.remove(f);
+                            }
+                        }
+                    }
+                }, MoreExecutors.directExecutor());
+
+                return f;
+            }
+            b.rejected++;
+        }
+
+        logger.debug("Query of beacon " + beacon.getId() + " rejected, bulkhead full");
+        return Futures.immediateFuture(false);
+    }
+
+    /**
+     * Takes a slot to query a beacon if one is free right away, without queueing. Meant for queries that would have to
+     * hold a thread while waiting in the queue. An admitted query has to {@link #release(Beacon) release} its slot when
+     * done.
+     *
+     * @param beacon beacon
+     *
+     * @return true if the query is admitted, false if it is rejected
+     */
+    public boolean tryAcquire(Beacon beacon) {
+        if (!BULKHEADS) {
+            return true;
+        }
+
+        Bulkhead b = getBulkhead(beacon.getId());
+        synchronized (b) {
+            if (b.inFlight < b.maxConcurrent) {
+                b.inFlight++;
+                b.admitted++;
+                return true;
+            }
+            b.rejected++;
+        }
+
+        logger.debug("Query of beacon " + beacon.getId() + " rejected, bulkhead full");
+        return false;
+    }
+
+    /**
+     * Gives up the slot of an admitted query, handing it over to the next query waiting.
+     *
+     * @param beacon beacon
+     */
+    public void release(Beacon beacon) {
+        Bulkhead b = BULKHEADS ? bulkheads.get(beacon.getId()) : null;
+        if (b == null) {
+            return;
+        }
+
+        while (true) {
+            SettableFuture<Boolean> next;
+            synchronized (b) {
+                next = b.waiting.poll();
+                if (next == null) {
+                    b.inFlight--;
+                    return;
+                }
+            }
+            // completed outside of the lock, the admitted query may start right away in this thread
+            if (next.set(true)) {
+                synchronized (b) {
+                    b.admitted++;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Obtains statistics of the bulkheads of all the beacons queried so far.
+     *
+     * @return statistics
+     */
+    public Collection<BulkheadStatsTo> getStats() {
+        List<BulkheadStatsTo> stats = new ArrayList<>();
+        for (Entry<String, Bulkhead> e : bulkheads.entrySet()) {
+            Bulkhead b = e.getValue();
+            synchronized (b) {
+                stats.add(new BulkheadStatsTo(e.getKey(), b.inFlight, b.waiting.size(), b.maxConcurrent, b.maxQueued, b.admitted, b.rejected));
+            }
+        }
+
+        return stats;
+    }
+}
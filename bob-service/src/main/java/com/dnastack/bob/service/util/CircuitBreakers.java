@@ -0,0 +1,231 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.event.BeaconChangeEvent;
+import com.dnastack.bob.service.api.Deadline;
+import com.dnastack.bob.service.dto.BeaconTo;
+import com.dnastack.bob.service.dto.BreakerStateTo;
+import com.dnastack.bob.service.processor.util.HealthProber;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.TransactionPhase;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import static com.dnastack.bob.service.util.Constants.BREAKER_FAILURES;
+import static com.dnastack.bob.service.util.Constants.BREAKER_OPEN_TIME;
+import static com.dnastack.bob.service.util.Constants.BREAKER_PROBE_TIMEOUT;
+import static com.dnastack.bob.service.util.Constants.CIRCUIT_BREAKING;
+
+/**
+ * Per beacon circuit breakers. A beacon failing a number of consecutive queries is opened and not queried at all. Once
+ * the open time passes, the breaker becomes half-open and a single probe decides whether the beacon is closed again or
+ * stays open for another period. Probes are sent in the background, so user queries never wait for a beacon known to
+ * be down (without a scheduler, i.e. outside of the container, the first user query after the open time is the probe).
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class CircuitBreakers {
+
+    @Inject
+    private HealthProber prober;
+
+    @Resource
+    private ManagedScheduledExecutorService scheduler;
+
+    private final ConcurrentMap<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    private static class Breaker {
+
+        private final Beacon beacon;
+        private BreakerStateTo state = BreakerStateTo.CLOSED;
+        private int failures = 0;
+        private long openedAt;
+
+        Breaker(Beacon beacon) {
+            this.beacon = beacon;
+        }
+    }
+
+    private Breaker getBreaker(Beacon beacon) {
+        Breaker b = breakers.get(beacon.getId());
+        if (b == null) {
+            Breaker created = new Breaker(beacon);
+            b = breakers.putIfAbsent(beacon.getId(), created);
+            if (b == null) {
+                b = created;
+            }
+        }
+
+        return b;
+    }
+
+    private void open(final Breaker b) {
+        b.state = BreakerStateTo.OPEN;
+        b.openedAt = System.nanoTime();
+
+        if (scheduler != null) {
+            scheduler.schedule(new Runnable() {
+
+                @Override
+                public void run() {
+                    probe(b);
+                }
+            }, BREAKER_OPEN_TIME, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void probe(Breaker b) {
+        synchronized (b) {
+            if (b.state != BreakerStateTo.OPEN || breakers.get(b.beacon.getId()) != b) {
+                return;
+            }
+            b.state = BreakerStateTo.HALF_OPEN;
+        }
+
+        boolean healthy = false;
+        try {
+            healthy = prober.probe(b.beacon, Deadline.after(BREAKER_PROBE_TIMEOUT, TimeUnit.MILLISECONDS));
+        } finally {
+            // a probe that blew up reopens the breaker and schedules another one, it never stays half-open
+            if (healthy) {
+                recordSuccess(b.beacon);
+            } else {
+                recordFailure(b.beacon);
+            }
+        }
+    }
+
+    /**
+     * Decides whether a beacon can be queried.
+     *
+     * @param beacon beacon
+     *
+     * @return true if the breaker of the beacon is closed (or lets this query through as a probe)
+     */
+    public boolean allowRequest(Beacon beacon) {
+        Breaker b = CIRCUIT_BREAKING ? breakers.get(beacon.getId()) : null;
+        if (b == null) {
+            return true;
+        }
+
+        synchronized (b) {
+            if (b.state == BreakerStateTo.OPEN && scheduler == null && System.nanoTime() - b.openedAt >= TimeUnit.MILLISECONDS.toNanos(BREAKER_OPEN_TIME)) {
+                b.state = BreakerStateTo.HALF_OPEN;
+                return true;
+            }
+
+            return b.state == BreakerStateTo.CLOSED;
+        }
+    }
+
+    /**
+     * Records a query the beacon answered.
+     *
+     * @param beacon beacon
+     */
+    public void recordSuccess(Beacon beacon) {
+        Breaker b = breakers.get(beacon.getId());
+        if (b == null) {
+            return;
+        }
+
+        synchronized (b) {
+            b.failures = 0;
+            b.state = BreakerStateTo.CLOSED;
+        }
+    }
+
+    /**
+     * Records a query the beacon failed to answer.
+     *
+     * @param beacon beacon
+     */
+    public void recordFailure(Beacon beacon) {
+        if (!CIRCUIT_BREAKING) {
+            return;
+        }
+
+        Breaker b = getBreaker(beacon);
+        synchronized (b) {
+            b.failures++;
+            if (b.state == BreakerStateTo.HALF_OPEN || (b.state == BreakerStateTo.CLOSED && b.failures >= BREAKER_FAILURES)) {
+                open(b);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the state of the breaker of a beacon.
+     *
+     * @param beaconId beacon ID
+     *
+     * @return state, null for beacons never queried
+     */
+    public BreakerStateTo getState(String beaconId) {
+        Breaker b = breakers.get(beaconId);
+        if (b == null) {
+            return null;
+        }
+
+        synchronized (b) {
+            return b.state;
+        }
+    }
+
+    /**
+     * Fills in the breaker state of a beacon TO.
+     *
+     * @param beacon beacon TO
+     *
+     * @return the same beacon TO
+     */
+    public BeaconTo describe(BeaconTo beacon) {
+        if (beacon != null && !beacon.isAggregator()) {
+            BreakerStateTo s = getState(beacon.getId());
+            beacon.setBreakerState((s == null) ? BreakerStateTo.CLOSED : s);
+        }
+
+        return beacon;
+    }
+
+    /**
+     * Forgets the state of a beacon once a change of the beacon is committed.
+     *
+     * @param event change
+     */
+    public void onBeaconChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) BeaconChangeEvent event) {
+        breakers.remove(event.getBeaconId());
+    }
+}
@@ -36,6 +36,71 @@ import java.util.Map;
 public class Constants {
 
     public static final int REQUEST_TIMEOUT = 15;
+    // upper bound (in ms) for the overall time budget a client can ask for
+    public static final long MAX_REQUEST_TIMEOUT = Long.getLong("bob.timeout.max", REQUEST_TIMEOUT * 1000L);
+    // connection pool of the HTTP clients, idle timeout and keep-alive are in ms
+    public static final int HTTP_MAX_CONNECTIONS = Integer.getInteger("bob.http.maxConnections", 200);
+    public static final int HTTP_MAX_CONNECTIONS_PER_HOST = Integer.getInteger("bob.http.maxConnectionsPerHost", 20);
+    public static final String HTTP_MAX_CONNECTIONS_PER_HOST_PREFIX = "bob.http.maxConnectionsPerHost.";
+    public static final long HTTP_KEEP_ALIVE = Long.getLong("bob.http.keepAlive", 30000L);
+    public static final long HTTP_IDLE_TIMEOUT = Long.getLong("bob.http.idleTimeout", 60000L);
+    // threads executing blocking requests to beacons, separate from the default managed executor (idle threads end after the keep-alive in ms)
+    public static final int FETCH_THREADS = Integer.getInteger("bob.fetch.threads", HTTP_MAX_CONNECTIONS);
+    public static final long FETCH_KEEP_ALIVE = Long.getLong("bob.fetch.keepAlive", 60000L);
+    // per beacon timeouts derived from a percentile of the observed latencies (in ms), bounded by floor and ceiling
+    public static final boolean ADAPTIVE_TIMEOUTS = Boolean.parseBoolean(System.getProperty("bob.timeout.adaptive.enabled", "true"));
+    public static final double ADAPTIVE_TIMEOUT_PERCENTILE = Double.parseDouble(System.getProperty("bob.timeout.adaptive.percentile", "99"));
+    public static final double ADAPTIVE_TIMEOUT_MULTIPLIER = Double.parseDouble(System.getProperty("bob.timeout.adaptive.multiplier", "2"));
+    public static final long ADAPTIVE_TIMEOUT_FLOOR = Long.getLong("bob.timeout.adaptive.floor", 500L);
+    public static final long ADAPTIVE_TIMEOUT_CEILING = Long.getLong("bob.timeout.adaptive.ceiling", MAX_REQUEST_TIMEOUT);
+    public static final int ADAPTIVE_TIMEOUT_MIN_SAMPLES = Integer.getInteger("bob.timeout.adaptive.minSamples", 20);
+    public static final int ADAPTIVE_TIMEOUT_WINDOW = Integer.getInteger("bob.timeout.adaptive.window", 1000);
+    // stop querying a beacon after consecutive failures, probe it in the background after the open time (in ms)
+    public static final boolean CIRCUIT_BREAKING = Boolean.parseBoolean(System.getProperty("bob.breaker.enabled", "true"));
+    public static final int BREAKER_FAILURES = Integer.getInteger("bob.breaker.failures", 5);
+    public static final long BREAKER_OPEN_TIME = Long.getLong("bob.breaker.openTime", 30000L);
+    public static final long BREAKER_PROBE_TIMEOUT = Long.getLong("bob.breaker.probeTimeout", 5000L);
+    // duplicate slow requests to beacons opted in by their hedgePercentile, extra requests capped by budget (in %)
+    public static final boolean HEDGING = Boolean.parseBoolean(System.getProperty("bob.hedging.enabled", "true"));
+    public static final double HEDGING_BUDGET = Double.parseDouble(System.getProperty("bob.hedging.budget", "5"));
+    // queries in flight and waiting per beacon, further queries of the beacon are rejected (override per beacon ID)
+    public static final boolean BULKHEADS = Boolean.parseBoolean(System.getProperty("bob.bulkhead.enabled", "true"));
+    public static final int BULKHEAD_MAX_CONCURRENT = Integer.getInteger("bob.bulkhead.maxConcurrent", 10);
+    public static final String BULKHEAD_MAX_CONCURRENT_PREFIX = "bob.bulkhead.maxConcurrent.";
+    public static final int BULKHEAD_MAX_QUEUED = Integer.getInteger("bob.bulkhead.maxQueued", 20);
+    public static final String BULKHEAD_MAX_QUEUED_PREFIX = "bob.bulkhead.maxQueued.";
+    // requests executing concurrently per beacon host in the thread-per-request processor (override per host)
+    public static final int THREAD_PER_REQUEST_MAX_PER_HOST = Integer.getInteger("bob.threadPerRequest.maxPerHost", HTTP_MAX_CONNECTIONS_PER_HOST);
+    public static final String THREAD_PER_REQUEST_MAX_PER_HOST_PREFIX = "bob.threadPerRequest.maxPerHost.";
+    // requests waiting for a permit per beacon host in the thread-per-request processor, the others are refused
+    public static final int THREAD_PER_REQUEST_MAX_QUEUED_PER_HOST = Integer.getInteger("bob.threadPerRequest.maxQueuedPerHost", 4 * THREAD_PER_REQUEST_MAX_PER_HOST);
+    // references of a beacon asked one after another in the order of priority until one answers positively
+    public static final boolean SEQUENTIAL_REFERENCES = Boolean.parseBoolean(System.getProperty("bob.reference.sequential", "true"));
+    public static final String REFERENCE_PRIORITY = System.getProperty("bob.reference.priority", "hg19,hg38,hg18,hg17,hg16");
+    // audit log of queries, buffered (overflow policy drop or block) and written in batches at least every flush interval (in ms)
+    public static final boolean QUERY_LOG = Boolean.parseBoolean(System.getProperty("bob.queryLog.enabled", "true"));
+    public static final int QUERY_LOG_BUFFER_SIZE = Integer.getInteger("bob.queryLog.bufferSize", 10000);
+    public static final int QUERY_LOG_BATCH_SIZE = Integer.getInteger("bob.queryLog.batchSize", 100);
+    public static final long QUERY_LOG_FLUSH_INTERVAL = Long.getLong("bob.queryLog.flushInterval", 1000L);
+    public static final String QUERY_LOG_OVERFLOW = System.getProperty("bob.queryLog.overflow", "drop");
+    // text responses are read only as far as their parser needs (window searched by substring parsers in bytes), the unread rest is drained if it is at most the threshold (in bytes), otherwise the connection is closed
+    public static final int PARSER_TEXT_WINDOW = Integer.getInteger("bob.parser.textWindow", 4096);
+    public static final int HTTP_DRAIN_THRESHOLD = Integer.getInteger("bob.http.drainThreshold", 8192);
+    // cache of beacon responses, ttls are in s (a beacon can override the positive one)
+    public static final boolean RESPONSE_CACHING = Boolean.parseBoolean(System.getProperty("bob.cache.enabled", "true"));
+    public static final long RESPONSE_CACHE_SIZE = Long.getLong("bob.cache.size", 100000L);
+    public static final long RESPONSE_CACHE_TTL = Long.getLong("bob.cache.ttl", 3600L);
+    public static final long RESPONSE_CACHE_NEGATIVE_TTL = Long.getLong("bob.cache.negativeTtl", 300L);
+    // share the response of a query with identical queries issued while it is in flight
+    public static final boolean QUERY_COALESCING = Boolean.parseBoolean(System.getProperty("bob.coalescing.enabled", "true"));
+    // resolve aggregators on the first positive response instead of waiting for all the children
+    public static final boolean EARLY_EXIT_AGGREGATION = Boolean.parseBoolean(System.getProperty("bob.aggregation.earlyExit", "true"));
+    // batch queries: variants accepted per request, concurrent requests per beacon
+    public static final int BATCH_MAX_VARIANTS = Integer.getInteger("bob.batch.maxVariants", 1000);
+    public static final int BATCH_BEACON_CONCURRENCY = Integer.getInteger("bob.batch.beaconConcurrency", 4);
+    // seed the DB with mock beacons served from the given base URL instead of the real ones (see bob-loadtest module)
+    public static final String MOCK_BEACON_URL = System.getProperty("bob.mock.url");
+    public static final int MOCK_BEACONS = Integer.getInteger("bob.mock.beacons", 20);
     public static final Map<Reference, String> REFERENCE_MAPPING = ImmutableMap.of(
             Reference.HG38, "GRCh38",
             Reference.HG19, "GRCh37",
@@ -41,6 +41,7 @@ import com.dnastack.bob.service.converter.impl.LowerCaseChromosomeConverter;
 import com.dnastack.bob.service.converter.impl.NumberChromosomeConverter;
 import com.dnastack.bob.service.fetcher.impl.GetResponseFetcher;
 import com.dnastack.bob.service.fetcher.impl.PostResponseFetcher;
+import com.dnastack.bob.service.parser.api.ResponseParser;
 import com.dnastack.bob.service.parser.impl.JsonCafeResponseParser;
 import com.dnastack.bob.service.parser.impl.JsonExistsGtResponseParser;
 import com.dnastack.bob.service.parser.impl.JsonExistsResponseParser;
@@ -54,6 +55,7 @@ import com.dnastack.bob.service.requester.impl.ChromPosAlleleRequestConstructor;
 import com.dnastack.bob.service.requester.impl.NoParamCustomPayloadRequestConstructor;
 import com.dnastack.bob.service.requester.impl.RefChromPosAlleleRequestConstructor;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
 import javax.annotation.PostConstruct;
@@ -63,6 +65,9 @@ import javax.inject.Inject;
 import javax.transaction.Transactional;
 import org.jboss.logging.Logger;
 
+import static com.dnastack.bob.service.util.Constants.MOCK_BEACONS;
+import static com.dnastack.bob.service.util.Constants.MOCK_BEACON_URL;
+
 /**
  *
  * @author Miroslav Cupak (mirocupak@gmail.com)
@@ -73,6 +78,9 @@ import org.jboss.logging.Logger;
 @Transactional
 public class DatabaseInitializer {
 
+    // mock beacons cycle through all the dialects, the mock farm recognizes them by the parser name in the URL
+    private static final List<Class<? extends ResponseParser>> MOCK_PARSERS = Arrays.<Class<? extends ResponseParser>>asList(JsonExistsResponseParser.class, JsonExistsGtResponseParser.class, JsonResponseExistsResponseParser.class, JsonResponseExistsNullAsFalseResponseParser.class, JsonCafeResponseParser.class, StringFoundResponseParser.class, StringYesNoResponseParser.class, StringYesNoRefResponseParser.class);
+
     @Inject
     private OrganizationDao organizationDao;
 
@@ -543,9 +551,59 @@ public class DatabaseInitializer {
         }
     }
 
+    private void insertMockData() {
+        logger.debug("Initializing DB with mock beacons...");
+        try {
+            Organization mock = new Organization();
+            mock.setId("mock");
+            mock.setName("Mock Beacon Farm");
+            organizationDao.save(mock);
+
+            Beacon bob = new Beacon();
+            bob.setId("bob");
+            bob.setName("Beacon of Beacons");
+            bob.setOrganization(mock);
+            bob.setVisible(true);
+            bob.setAggregator(true);
+            bob.setEnabled(true);
+            bob.setUrl(MOCK_BEACON_URL);
+            bob.setSupportedReferences(EnumSet.noneOf(Reference.class));
+            beaconDao.save(bob);
+
+            for (int i = 0; i < MOCK_BEACONS; i++) {
+                Class<? extends ResponseParser> parser = MOCK_PARSERS.get(i % MOCK_PARSERS.size());
+                Beacon b = new Beacon();
+                b.setId("mock-" + i);
+                b.setName("Mock " + i);
+                b.setOrganization(mock);
+                b.setVisible(true);
+                b.setAggregator(false);
+                b.setParser(ejbResolver.getClassId(parser));
+                b.setFetcher(ejbResolver.getClassId(GetResponseFetcher.class));
+                b.setRequester(cdiResolver.getClassId(RefChromPosAlleleRequestConstructor.class));
+                b.setReferenceConverter(cdiResolver.getClassId(GrChReferenceConverter.class));
+                b.setChromosomeConverter(cdiResolver.getClassId(EmptyChromosomeConverter.class));
+                b.setPositionConverter(cdiResolver.getClassId(EmptyPositionConverter.class));
+                b.setAlleleConverter(cdiResolver.getClassId(EmptyAlleleConverter.class));
+                b.setEnabled(true);
+                b.setUrl(MOCK_BEACON_URL + "/" + parser.getSimpleName() + "/" + b.getId() + "?ref=%s&chrom=%s&pos=%d&allele=%s");
+                b.setSupportedReferences(EnumSet.of(Reference.HG18, Reference.HG19, Reference.HG38));
+                beaconDao.save(b);
+                beaconDao.addRelationship(b, bob);
+            }
+        } catch (Exception ex) {
+            // failed to initialize, continue with an empty DB
+            ex.printStackTrace();
+        }
+    }
+
     @PostConstruct
     public void init() {
         clean();
-        insertInitialData();
+        if (MOCK_BEACON_URL == null) {
+            insertInitialData();
+        } else {
+            insertMockData();
+        }
     }
 }
@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.util;
+
+/**
+ * Histogram of latencies with buckets growing exponentially by 10 %, so that percentiles are accurate to 10 % at any
+ * scale. Once the histogram holds the given number of samples, all the counts are halved, so that it reflects recent
+ * latencies rather than the whole history.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class LatencyHistogram {
+
+    private static final double GROWTH = 1.1;
+
+    private final long[] counts;
+    private final long window;
+    private long samples = 0;
+
+    /**
+     * Creates a histogram.
+     *
+     * @param max    max latency recorded precisely, larger ones fall into the last bucket
+     * @param window number of samples after which older samples start to fade out
+     */
+    public LatencyHistogram(long max, long window) {
+        this.counts = new long[getBucket(max) + 1];
+        this.window = Math.max(window, 1);
+    }
+
+    private static int getBucket(long latency) {
+        return (latency <= 1) ? 0 : (int) Math.ceil(Math.log(latency) / Math.log(GROWTH));
+    }
+
+    private static long getUpperBound(int bucket) {
+        return (long) Math.ceil(Math.pow(GROWTH, bucket));
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param latency latency
+     */
+    public synchronized void record(long latency) {
+        counts[Math.min(getBucket(latency), counts.length - 1)]++;
+        samples++;
+
+        if (samples >= window) {
+            samples = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] /= 2;
+                samples += counts[i];
+            }
+        }
+    }
+
+    /**
+     * Computes a percentile of the recorded latencies.
+     *
+     * @param percentile percentile (0-100)
+     *
+     * @return upper bound of the bucket containing the percentile, null if nothing has been recorded
+     */
+    public synchronized Long getPercentile(double percentile) {
+        if (samples == 0) {
+            return null;
+        }
+
+        long rank = Math.max((long) Math.ceil(samples * percentile / 100), 1);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return getUpperBound(i);
+            }
+        }
+
+        return getUpperBound(counts.length - 1);
+    }
+
+    public synchronized long getSamples() {
+        return samples;
+    }
+}
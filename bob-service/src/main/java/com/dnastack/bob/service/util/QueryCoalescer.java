@@ -0,0 +1,195 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.entity.Query;
+import com.dnastack.bob.service.dto.CoalescingStatsTo;
+import com.google.common.base.Supplier;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.JdkFutureAdapters;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Named;
+
+/**
+ * Deduplicates concurrent identical queries. While a query against a beacon is in flight, the same query against the
+ * same beacon does not hit the beacon again and waits for the outstanding response instead. The deadline of the first
+ * query applies to the shared response. The shared request is cancelled only once all the queries waiting for it are
+ * cancelled.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class QueryCoalescer {
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    private final ConcurrentMap<Entry<String, Query>, Shared> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Response shared by identical queries, cancelled together with its execution once all the waiters gave up.
+     */
+    private static class Shared {
+
+        private final SettableFuture<Boolean> response = SettableFuture.create();
+        private final AtomicInteger waiters = new AtomicInteger(1);
+        private volatile Future<Boolean> execution;
+
+        private boolean join() {
+            for (int w = waiters.get(); w > 0; w = waiters.get()) {
+                if (waiters.compareAndSet(w, w + 1)) {
+                    return true;
+                }
+            }
+
+            // everybody has left already, the response is being cancelled
+            return false;
+        }
+
+        private void leave() {
+            if (waiters.decrementAndGet() == 0) {
+                response.cancel(false);
+                if (execution != null) {
+                    execution.cancel(true);
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private ListenableFuture<Boolean> listenable(Future<Boolean> f) {
+        // futures of the EJB processor cannot notify us, watching them costs a pooled thread
+        return (f instanceof ListenableFuture) ? (ListenableFuture<Boolean>) f : JdkFutureAdapters.listenInPoolThread(f, executor);
+    }
+
+    private static void forward(ListenableFuture<Boolean> from, final SettableFuture<Boolean> to) {
+        Futures.addCallback(from, new FutureCallback<Boolean>() {
+
+            @Override
+            public void onSuccess(Boolean result) {
+                to.set(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                to.setException(t);
+            }
+        });
+    }
+
+    private static Future<Boolean> view(final Shared shared) {
+        // every caller gets its own future, so that cancelling it does not affect the others until the last one leaves
+        final SettableFuture<Boolean> res = SettableFuture.create();
+        forward(shared.response, res);
+        res.addListener(new Runnable() {
+
+            @Override
+            public void run() {
+                if (res.isCancelled()) {
+                    shared.leave();
+                }
+            }
+        }, MoreExecutors.directExecutor());
+
+        return res;
+    }
+
+    /**
+     * Executes a query unless the same query against the same beacon is already in flight. The execution is cancelled
+     * when all the callers waiting for it cancel their responses.
+     *
+     * @param beacon    beacon
+     * @param query     normalized query
+     * @param execution executes the query against the beacon
+     *
+     * @return response of the beacon
+     */
+    public Future<Boolean> execute(Beacon beacon, Query query, Supplier<Future<Boolean>> execution) {
+        final Entry<String, Query> key = Maps.immutableEntry(beacon.getId(), query);
+
+        while (true) {
+            Shared shared = inFlight.get(key);
+            if (shared != null) {
+                if (shared.join()) {
+                    coalesced.incrementAndGet();
+                    return view(shared);
+                }
+                // abandoned, start over
+                inFlight.remove(key, shared);
+                continue;
+            }
+
+            final Shared s = new Shared();
+            if (inFlight.putIfAbsent(key, s) != null) {
+                continue;
+            }
+            executed.incrementAndGet();
+            s.response.addListener(new Runnable() {
+
+                @Override
+                public void run() {
+                    inFlight.remove(key, s);
+                }
+            }, MoreExecutors.directExecutor());
+
+            try {
+                ListenableFuture<Boolean> f = listenable(execution.get());
+                s.execution = f;
+                forward(f, s.response);
+            } catch (RuntimeException ex) {
+                s.response.setException(ex);
+            }
+
+            return view(s);
+        }
+    }
+
+    /**
+     * Obtains statistics of the deduplication.
+     *
+     * @return statistics
+     */
+    public CoalescingStatsTo getStats() {
+        return new CoalescingStatsTo(inFlight.size(), executed.get(), coalesced.get());
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.util;
+
+import com.dnastack.bob.persistence.entity.Query;
+import com.dnastack.bob.service.dto.QueryLogStatsTo;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+import org.jboss.logging.Logger;
+
+import static com.dnastack.bob.service.util.Constants.QUERY_LOG;
+import static com.dnastack.bob.service.util.Constants.QUERY_LOG_BATCH_SIZE;
+import static com.dnastack.bob.service.util.Constants.QUERY_LOG_BUFFER_SIZE;
+import static com.dnastack.bob.service.util.Constants.QUERY_LOG_FLUSH_INTERVAL;
+import static com.dnastack.bob.service.util.Constants.QUERY_LOG_OVERFLOW;
+
+/**
+ * Audit log of the queries and the responses of the beacons to them. Queries are put in a bounded buffer and written
+ * to the DB in the background, in batches, whenever a batch fills up or the flush interval passes, so logging does not
+ * add a DB round trip to user queries. When the buffer is full, queries are either dropped (and counted) or the caller
+ * waits for room, depending on the overflow policy. Without a scheduler, i.e. outside of the container, nothing is
+ * logged.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class QueryLog {
+
+    @Inject
+    private QueryLogWriter writer;
+
+    @Inject
+    private Logger logger;
+
+    @Resource
+    private ManagedScheduledExecutorService scheduler;
+
+    private final BlockingQueue<Query> buffer = new ArrayBlockingQueue<>(Math.max(QUERY_LOG_BUFFER_SIZE, 1));
+    private final boolean blocking = "block".equalsIgnoreCase(QUERY_LOG_OVERFLOW);
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final AtomicLong logged = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private final Runnable flush = new Runnable() {
+
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    @PostConstruct
+    private void init() {
+        if (QUERY_LOG && scheduler != null) {
+            scheduler.scheduleWithFixedDelay(flush, QUERY_LOG_FLUSH_INTERVAL, QUERY_LOG_FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    private void destroy() {
+        // write what is left
+        flush();
+    }
+
+    private void flush() {
+        // one writer at a time, a flush requested meanwhile is covered by the running one
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<Query> batch = new ArrayList<>();
+            while (buffer.drainTo(batch, Math.max(QUERY_LOG_BATCH_SIZE, 1)) > 0) {
+                try {
+                    writer.write(batch);
+                    written.addAndGet(batch.size());
+                } catch (RuntimeException ex) {
+                    logger.error("Could not write " + batch.size() + " logged queries: " + ex.getMessage());
+                    failed.addAndGet(batch.size());
+                }
+                batch.clear();
+            }
+        } finally {
+            flushing.set(false);
+        }
+    }
+
+    /**
+     * Logs a query and the responses to it.
+     *
+     * @param query     normalized query
+     * @param responses responses by beacon ID
+     */
+    public void log(Query query, Map<String, Boolean> responses) {
+        if (!QUERY_LOG || scheduler == null) {
+            return;
+        }
+
+        Query q = new Query(query.getChromosome(), query.getPosition(), query.getAllele(), query.getReference());
+        q.setSubmitted(new Date());
+        q.setResponses(new HashMap<String, Boolean>());
+        for (Map.Entry<String, Boolean> e : responses.entrySet()) {
+            if (e.getValue() != null) {
+                q.getResponses().put(e.getKey(), e.getValue());
+            }
+        }
+
+        if (blocking) {
+            try {
+                buffer.put(q);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                dropped.incrementAndGet();
+                return;
+            }
+        } else if (!buffer.offer(q)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        logged.incrementAndGet();
+
+        if (buffer.size() >= QUERY_LOG_BATCH_SIZE && !flushing.get()) {
+            scheduler.execute(flush);
+        }
+    }
+
+    /**
+     * Obtains statistics of the log.
+     *
+     * @return queries buffered, logged, dropped, written and failed to be written
+     */
+    public QueryLogStatsTo getStats() {
+        return new QueryLogStatsTo(buffer.size(), logged.get(), dropped.get(), written.get(), failed.get());
+    }
+
+}
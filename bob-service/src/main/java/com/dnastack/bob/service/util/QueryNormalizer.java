@@ -0,0 +1,239 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.util;
+
+import com.dnastack.bob.persistence.entity.Query;
+import com.dnastack.bob.persistence.enumerated.Chromosome;
+import com.dnastack.bob.persistence.enumerated.Reference;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import javax.enterprise.context.Dependent;
+import javax.inject.Named;
+
+import static com.dnastack.bob.service.util.Constants.REFERENCE_MAPPING;
+
+/**
+ * Normalizer of user-supplied query parameters to their canonical form. Names are looked up in tables computed once,
+ * so normalizing does not scan the enums, compile patterns or case-fold the input into new strings.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Dependent
+@Named
+public class QueryNormalizer implements Serializable {
+
+    private static final long serialVersionUID = 104L;
+
+    private static final String DELETION = "D";
+    private static final String INSERTION = "I";
+
+    // every character of the chromosome names (either case) has a code, names of 1 or 2 characters index the table
+    private static final int[] CHROMOSOME_CODES = new int[128];
+    private static final int CHROMOSOME_SYMBOLS;
+    private static final Chromosome[] CHROMOSOMES;
+
+    // UCSC and GRC names of the references, placed so that no two of them share a slot
+    private static final String[] REFERENCE_NAMES;
+    private static final Reference[] REFERENCES;
+
+    static {
+        int n = 1;
+        for (Chromosome c : Chromosome.values()) {
+            for (char ch : c.toString().toCharArray()) {
+                if (CHROMOSOME_CODES[ch] == 0) {
+                    CHROMOSOME_CODES[Character.toUpperCase(ch)] = n;
+                    CHROMOSOME_CODES[Character.toLowerCase(ch)] = n;
+                    n++;
+                }
+            }
+        }
+        CHROMOSOME_SYMBOLS = n;
+        CHROMOSOMES = new Chromosome[n * n];
+        for (Chromosome c : Chromosome.values()) {
+            String s = c.toString();
+            int i = CHROMOSOME_CODES[s.charAt(s.length() - 1)];
+            if (s.length() > 1) {
+                i += CHROMOSOME_CODES[s.charAt(0)] * n;
+            }
+            CHROMOSOMES[i] = c;
+        }
+
+        List<String> names = new ArrayList<>();
+        List<Reference> refs = new ArrayList<>();
+        for (Entry<Reference, String> e : REFERENCE_MAPPING.entrySet()) {
+            names.add(e.getKey().toString());
+            refs.add(e.getKey());
+            names.add(e.getValue());
+            refs.add(e.getKey());
+        }
+        int size = Integer.highestOneBit(names.size()) << 1;
+        String[] table;
+        Reference[] values;
+        search:
+        while (true) {
+            table = new String[size];
+            values = new Reference[size];
+            for (int i = 0; i < names.size(); i++) {
+                int slot = hashIgnoreCase(names.get(i)) & (size - 1);
+                if (table[slot] != null) {
+                    size <<= 1;
+                    continue search;
+                }
+                table[slot] = names.get(i);
+                values[slot] = refs.get(i);
+            }
+            break;
+        }
+        REFERENCE_NAMES = table;
+        REFERENCES = values;
+    }
+
+    private static int hashIgnoreCase(String s) {
+        int h = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            h = 31 * h + ((c >= 'A' && c <= 'Z') ? c + ('a' - 'A') : c);
+        }
+
+        return h ^ (h >>> 16);
+    }
+
+    private static int getChromosomeCode(char c) {
+        return (c < CHROMOSOME_CODES.length) ? CHROMOSOME_CODES[c] : 0;
+    }
+
+    /**
+     * Normalizes chromosome name, e.g. chrX or x to X. Only the end of the name counts.
+     *
+     * @param chrom chromosome
+     *
+     * @return chromosome, null if not recognized
+     */
+    public Chromosome normalizeChromosome(String chrom) {
+        if (chrom == null || chrom.isEmpty()) {
+            return null;
+        }
+
+        int last = getChromosomeCode(chrom.charAt(chrom.length() - 1));
+        if (last == 0) {
+            return null;
+        }
+        if (chrom.length() > 1) {
+            // the longer name wins, e.g. 12 over 2
+            int prev = getChromosomeCode(chrom.charAt(chrom.length() - 2));
+            if (prev != 0 && CHROMOSOMES[prev * CHROMOSOME_SYMBOLS + last] != null) {
+                return CHROMOSOMES[prev * CHROMOSOME_SYMBOLS + last];
+            }
+        }
+
+        return CHROMOSOMES[last];
+    }
+
+    /**
+     * Normalizes allele to upper case bases or D/I for deletions/insertions.
+     *
+     * @param allele allele
+     *
+     * @return allele, null if not valid
+     */
+    public String normalizeAllele(String allele) {
+        if (allele == null || allele.isEmpty()) {
+            return null;
+        }
+
+        if (allele.length() == 1) {
+            char c = allele.charAt(0);
+            if (c == 'D' || c == 'd') {
+                return DELETION;
+            }
+            if (c == 'I' || c == 'i') {
+                return INSERTION;
+            }
+        } else if (allele.length() == 3) {
+            if (allele.equalsIgnoreCase("DEL")) {
+                return DELETION;
+            }
+            if (allele.equalsIgnoreCase("INS")) {
+                return INSERTION;
+            }
+        }
+
+        // bases, a new string is only needed if some are in lower case
+        boolean upperCase = true;
+        for (int i = 0; i < allele.length(); i++) {
+            switch (allele.charAt(i)) {
+                case 'A':
+                case 'C':
+                case 'G':
+                case 'T':
+                case ',': // allowed by the pattern of Query.allele
+                    break;
+                case 'a':
+                case 'c':
+                case 'g':
+                case 't':
+                    upperCase = false;
+                    break;
+                default:
+                    return null;
+            }
+        }
+
+        return upperCase ? allele : allele.toUpperCase();
+    }
+
+    /**
+     * Normalizes reference genome given either by its UCSC or GRC name.
+     *
+     * @param ref reference genome
+     *
+     * @return reference, null if not recognized
+     */
+    public Reference normalizeReference(String ref) {
+        if (ref == null || ref.isEmpty()) {
+            return null;
+        }
+
+        int slot = hashIgnoreCase(ref) & (REFERENCE_NAMES.length - 1);
+
+        return (REFERENCE_NAMES[slot] != null && REFERENCE_NAMES[slot].equalsIgnoreCase(ref)) ? REFERENCES[slot] : null;
+    }
+
+    /**
+     * Normalizes all the parameters of a query.
+     *
+     * @param chrom  chromosome
+     * @param pos    position
+     * @param allele allele
+     * @param ref    reference genome
+     *
+     * @return query, unrecognized parameters are null
+     */
+    public Query normalize(String chrom, Long pos, String allele, String ref) {
+        return new Query(normalizeChromosome(chrom), pos, normalizeAllele(allele), normalizeReference(ref));
+    }
+}
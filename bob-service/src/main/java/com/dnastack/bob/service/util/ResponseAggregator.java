@@ -0,0 +1,195 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 Miroslav Cupak (mirocupak@gmail.com).
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.service.api.Deadline;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.util.concurrent.JdkFutureAdapters;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.Dependent;
+import javax.inject.Named;
+
+/**
+ * Collects beacon responses in the order they arrive and resolves aggregators as soon as their result is known.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@Dependent
+public class ResponseAggregator implements Serializable {
+
+    private static final long serialVersionUID = 4466253153880410281L;
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    /**
+     * Receiver of beacons resolved during aggregation.
+     */
+    public interface Listener {
+
+        /**
+         * Called when the response of a beacon is known.
+         *
+         * @param beacon   beacon
+         * @param response response (null if none of the children responded)
+         */
+        void onResolved(Beacon beacon, Boolean response);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ListenableFuture<Boolean> listenable(Future<Boolean> f) {
+        // futures of the EJB processor cannot notify us, watching them costs a pooled thread
+        return (f instanceof ListenableFuture) ? (ListenableFuture<Boolean>) f : JdkFutureAdapters.listenInPoolThread(f, executor);
+    }
+
+    private Boolean getResponse(Future<Boolean> f) {
+        try {
+            return f.get();
+        } catch (InterruptedException | ExecutionException | CancellationException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Computes responses of the given beacons from the responses of their children. A beacon is resolved as soon as
+     * one of its children responds with true, or when all of its children have responded. Children that are not needed
+     * to resolve any of the beacons any more are cancelled.
+     *
+     * @param futures  pending responses of the children
+     * @param children map of beacons to their children (a regular beacon is its own child)
+     * @param deadline time by which all the beacons have to be resolved
+     *
+     * @return responses of the beacons (null/missing if no child responded in time)
+     */
+    public Map<Beacon, Boolean> aggregate(Map<Beacon, Future<Boolean>> futures, Multimap<Beacon, Beacon> children, Deadline deadline) {
+        return aggregate(futures, children, deadline, null);
+    }
+
+    /**
+     * Computes responses of the given beacons like {@link #aggregate(Map, Multimap, Deadline)}, notifying the listener
+     * about each beacon as soon as it is resolved. The listener is called from the calling thread. Beacons not resolved
+     * in time are not reported to the listener.
+     *
+     * @param futures  pending responses of the children
+     * @param children map of beacons to their children (a regular beacon is its own child)
+     * @param deadline time by which all the beacons have to be resolved
+     * @param listener receiver of the resolved beacons (optional)
+     *
+     * @return responses of the beacons (null/missing if no child responded in time)
+     */
+    public Map<Beacon, Boolean> aggregate(Map<Beacon, Future<Boolean>> futures, Multimap<Beacon, Beacon> children, Deadline deadline, Listener listener) {
+        final BlockingQueue<Beacon> completed = new LinkedBlockingQueue<>();
+        Map<Beacon, ListenableFuture<Boolean>> fs = new HashMap<>();
+        for (Entry<Beacon, Future<Boolean>> e : futures.entrySet()) {
+            final Beacon b = e.getKey();
+            ListenableFuture<Boolean> f = listenable(e.getValue());
+            f.addListener(new Runnable() {
+
+                @Override
+                public void run() {
+                    completed.add(b);
+                }
+            }, MoreExecutors.directExecutor());
+            fs.put(b, f);
+        }
+
+        Multimap<Beacon, Beacon> parents = Multimaps.invertFrom(children, HashMultimap.<Beacon, Beacon>create());
+        Map<Beacon, Integer> pending = new HashMap<>();
+        Set<Beacon> unresolved = new HashSet<>();
+        for (Beacon b : children.keySet()) {
+            pending.put(b, children.get(b).size());
+            unresolved.add(b);
+        }
+
+        Map<Beacon, Boolean> res = new HashMap<>();
+        try {
+            while (!unresolved.isEmpty()) {
+                Beacon c = completed.poll(deadline.getRemaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+                if (c == null) {
+                    // timed out
+                    break;
+                }
+
+                Boolean r = getResponse(fs.get(c));
+                for (Beacon p : parents.get(c)) {
+                    if (!unresolved.contains(p)) {
+                        continue;
+                    }
+                    if (r != null) {
+                        if (r) {
+                            res.put(p, true);
+                            unresolved.remove(p);
+                            if (listener != null) {
+                                listener.onResolved(p, true);
+                            }
+                            continue;
+                        } else if (!res.containsKey(p)) {
+                            res.put(p, false);
+                        }
+                    }
+
+                    int left = pending.get(p) - 1;
+                    pending.put(p, left);
+                    if (left == 0) {
+                        unresolved.remove(p);
+                        if (listener != null) {
+                            listener.onResolved(p, res.get(p));
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        // nobody is interested in the remaining responses
+        for (ListenableFuture<Boolean> f : fs.values()) {
+            if (!f.isDone()) {
+                f.cancel(true);
+            }
+        }
+
+        return res;
+    }
+}
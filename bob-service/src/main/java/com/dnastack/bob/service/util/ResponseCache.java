@@ -0,0 +1,190 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.util;
+
+import com.dnastack.bob.persistence.entity.Beacon;
+import com.dnastack.bob.persistence.entity.Query;
+import com.dnastack.bob.service.dto.CacheStatsTo;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ForwardingFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Named;
+
+import static com.dnastack.bob.service.util.Constants.RESPONSE_CACHE_NEGATIVE_TTL;
+import static com.dnastack.bob.service.util.Constants.RESPONSE_CACHE_SIZE;
+import static com.dnastack.bob.service.util.Constants.RESPONSE_CACHE_TTL;
+
+/**
+ * Bounded cache of beacon responses keyed by beacon and normalized query. The least recently used responses are
+ * evicted first. Positive responses live for the TTL of the beacon, negative ones for a shorter time, and missing
+ * responses are not cached at all.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+@Named
+@ApplicationScoped
+public class ResponseCache {
+
+    private final Cache<Entry<String, Query>, CachedResponse> cache = CacheBuilder.newBuilder().maximumSize(RESPONSE_CACHE_SIZE).recordStats().build();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private static class CachedResponse {
+
+        private final boolean response;
+        private final long expiresAt;
+
+        CachedResponse(boolean response, long ttl) {
+            this.response = response;
+            this.expiresAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(ttl);
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+    }
+
+    private static Entry<String, Query> getKey(Beacon beacon, Query query) {
+        return Maps.immutableEntry(beacon.getId(), query);
+    }
+
+    private static long getTtl(Beacon beacon, boolean response) {
+        long ttl = (beacon.getCacheTtl() == null) ? RESPONSE_CACHE_TTL : beacon.getCacheTtl();
+
+        return response ? ttl : Math.min(ttl, RESPONSE_CACHE_NEGATIVE_TTL);
+    }
+
+    /**
+     * Retrieves a cached response.
+     *
+     * @param beacon beacon
+     * @param query  normalized query
+     *
+     * @return response or null if not cached
+     */
+    public Boolean get(Beacon beacon, Query query) {
+        Entry<String, Query> key = getKey(beacon, query);
+        CachedResponse r = cache.getIfPresent(key);
+        if (r != null && r.isExpired()) {
+            cache.invalidate(key);
+            r = null;
+        }
+
+        if (r == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+
+        return r.response;
+    }
+
+    /**
+     * Stores a response.
+     *
+     * @param beacon   beacon
+     * @param query    normalized query
+     * @param response response (not cached if null)
+     */
+    public void put(Beacon beacon, Query query, Boolean response) {
+        if (response == null) {
+            return;
+        }
+
+        long ttl = getTtl(beacon, response);
+        if (ttl > 0) {
+            cache.put(getKey(beacon, query), new CachedResponse(response, ttl));
+        }
+    }
+
+    /**
+     * Caches the response once the given pending response completes. Listenable responses are cached as soon as they
+     * complete, other responses when they are retrieved from the returned future.
+     *
+     * @param beacon   beacon
+     * @param query    normalized query
+     * @param response pending response
+     *
+     * @return pending response
+     */
+    public Future<Boolean> putWhenDone(final Beacon beacon, final Query query, Future<Boolean> response) {
+        if (response instanceof ListenableFuture) {
+            Futures.addCallback((ListenableFuture<Boolean>) response, new FutureCallback<Boolean>() {
+
+                @Override
+                public void onSuccess(Boolean result) {
+                    put(beacon, query, result);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    // nothing to cache
+                }
+            });
+
+            return response;
+        }
+
+        return new ForwardingFuture.SimpleForwardingFuture<Boolean>(response) {
+
+            @Override
+            public Boolean get() throws InterruptedException, ExecutionException {
+                Boolean r = super.get();
+                put(beacon, query, r);
+
+                return r;
+            }
+
+            @Override
+            public Boolean get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+                Boolean r = super.get(timeout, unit);
+                put(beacon, query, r);
+
+                return r;
+            }
+        };
+    }
+
+    /**
+     * Obtains usage statistics of the cache.
+     *
+     * @return statistics
+     */
+    public CacheStatsTo getStats() {
+        return new CacheStatsTo(cache.size(), hits.get(), misses.get(), cache.stats().evictionCount());
+    }
+
+}
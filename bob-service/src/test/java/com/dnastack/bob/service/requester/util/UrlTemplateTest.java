@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2014 DNAstack.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.dnastack.bob.service.requester.util;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * URL template test.
+ *
+ * @author Miroslav Cupak (mirocupak@gmail.com)
+ * @version 1.0
+ */
+public class UrlTemplateTest {
+
+    private static String encode(String s) throws UnsupportedEncodingException {
+        // percent-encoding of RFC 3986 rather than of HTML forms
+        return URLEncoder.encode(s, "UTF-8").replace("+", "%20").replace("*", "%2A").replace("%7E", "~");
+    }
+
+    @Test
+    public void testCompile() {
+        assertThat(UrlTemplate.compile("http://beacon/query").getParameters()).isEqualTo(0);
+        assertThat(UrlTemplate.compile("http://beacon/query?chrom=%s&pos=%d&allele=%s").getParameters()).isEqualTo(3);
+        assertThat(UrlTemplate.compile("http://beacon/%3$s/%1$s?pos=%2$d&again=%1$s").getParameters()).isEqualTo(3);
+        assertThat(UrlTemplate.compile("http://beacon/query?ratio=100%%&chrom=%s").getParameters()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCompileRejected() {
+        List<String> urls = Arrays.asList(null, "http://beacon/%", "http://beacon/%x", "http://beacon/%S", "http://beacon/%-5s", "http://beacon/%5s", "http://beacon/%0$s", "http://beacon/%1$", "http://beacon/%1$%", "http://beacon/%1$x", "http://beacon/%n");
+        for (String url : urls) {
+            try {
+                UrlTemplate.compile(url);
+                fail("Accepted " + url);
+            } catch (IllegalArgumentException ex) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testRenderAsFormat() {
+        List<String> urls = Arrays.asList("http://beacon/query", "http://beacon/query?chrom=%s&pos=%d&allele=%s", "http://beacon/%3$s/%1$s?pos=%2$d&again=%1$s", "http://beacon/%s%%20/%d/%s", "%s%d%s");
+        Object[] params = {"X", 12345L, "ACGT"};
+        for (String url : urls) {
+            assertThat(UrlTemplate.compile(url).render(params)).isEqualTo(String.format(url, params));
+        }
+    }
+
+    @Test
+    public void testRenderEncoded() throws UnsupportedEncodingException {
+        String url = "http://beacon/query?chrom=%s&pos=%d&allele=%s&ref=%s";
+        List<String> values = Arrays.asList("A,C", "a b", "x+y&z=1", "100%", "a/b?c#d", "-._~*'()!", "\u010d", "\ud83d\ude00", "");
+        for (String v : values) {
+            assertThat(UrlTemplate.compile(url).render(v, 1L, v, v)).as(v).isEqualTo(String.format(url, encode(v), 1L, encode(v), encode(v)));
+        }
+        assertThat(UrlTemplate.compile(url).render(null, null, "A", "hg19")).isEqualTo(String.format(url, null, null, "A", "hg19"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRenderMissingParameters() {
+        UrlTemplate.compile("http://beacon/%2$s").render("X");
+    }
+
+}